@@ -0,0 +1,18 @@
+package Pacman;
+
+/**
+ * An interface to be implemented by every benchmark BenchmarkRunner can time.
+ */
+public interface Benchmark {
+
+	/**
+	 * Returns the name the benchmark is reported and selected by.
+	 */
+	public String getName();
+
+	/**
+	 * Performs the given number of operations and returns a value that depends on
+	 * every one of them, so that the JIT compiler cannot skip any.
+	 */
+	public long run(int ops);
+}
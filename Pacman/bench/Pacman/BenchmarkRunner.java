@@ -0,0 +1,109 @@
+package Pacman;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * Times the benchmarks of SimulationBenchmarks on the support map without any
+ * build tool or library. Each benchmark is run for a few warmup iterations so
+ * the JIT compiler settles, then for several measured iterations of a fixed
+ * length; the throughput of the measured iterations is reported as ops/s with
+ * its standard deviation, along with the bytes allocated per operation as
+ * counted by the JVM for the running thread.
+ *
+ * Run with the compiled src and bench folders and cs015.jar on the classpath:
+ * java Pacman.BenchmarkRunner [name filter]
+ */
+public class BenchmarkRunner {
+	private static final int WARMUP_ITERATIONS = 3;
+	private static final int MEASURED_ITERATIONS = 5;
+	private static final long ITERATION_NANOS = 1000000000L;
+	private static final int OPS_PER_CALL = 1000;
+
+	private static long _sink;
+
+	/**
+	 * Runs every benchmark whose name contains the optional filter and prints
+	 * one line per benchmark.
+	 */
+	public static void main(String[] argv) {
+		String filter = argv.length > 0 ? argv[0] : "";
+		Maze maze = new Maze(cs015.fnl.PacmanSupport.SupportMap.getMap());
+		System.out.println(String.format(Locale.ROOT, "%-34s %14s %10s %10s", "Benchmark", "ops/s", "error", "B/op"));
+		for (Benchmark benchmark : SimulationBenchmarks.all(maze)) {
+			if (benchmark.getName().contains(filter)) {
+				BenchmarkRunner.measure(benchmark);
+			}
+		}
+		if (_sink == 42) { // Consumes the results so that nothing is optimized away
+			System.out.println();
+		}
+	}
+
+	/**
+	 * Warms the benchmark up, measures it, and prints its throughput and
+	 * allocation rate.
+	 */
+	private static void measure(Benchmark benchmark) {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			BenchmarkRunner.iterate(benchmark, null);
+		}
+		double[] opsPerSecond = new double[MEASURED_ITERATIONS];
+		long[] allocated = new long[1];
+		long ops = 0;
+		for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+			long start = System.nanoTime();
+			long iterationOps = BenchmarkRunner.iterate(benchmark, allocated);
+			opsPerSecond[i] = iterationOps * 1e9 / (System.nanoTime() - start);
+			ops = ops + iterationOps;
+		}
+		double mean = 0;
+		for (double value : opsPerSecond) {
+			mean = mean + value / MEASURED_ITERATIONS;
+		}
+		double variance = 0;
+		for (double value : opsPerSecond) {
+			variance = variance + (value - mean) * (value - mean) / Math.max(1, MEASURED_ITERATIONS - 1);
+		}
+		String bytesPerOp = allocated[0] < 0 ? "n/a" : String.format(Locale.ROOT, "%.2f", (double) allocated[0] / ops);
+		System.out.println(String.format(Locale.ROOT, "%-34s %14.0f %10.0f %10s", benchmark.getName(), mean,
+				Math.sqrt(variance), bytesPerOp));
+	}
+
+	/**
+	 * Runs the benchmark for one iteration and returns how many operations were
+	 * performed. If allocated is not null, the bytes this thread allocated during
+	 * the iteration are added to its first element, or it is set to -1 if the JVM
+	 * cannot count them.
+	 */
+	private static long iterate(Benchmark benchmark, long[] allocated) {
+		long startBytes = BenchmarkRunner.allocatedBytes();
+		long start = System.nanoTime();
+		long ops = 0;
+		while (System.nanoTime() - start < ITERATION_NANOS) {
+			_sink = _sink + benchmark.run(OPS_PER_CALL);
+			ops = ops + OPS_PER_CALL;
+		}
+		long endBytes = BenchmarkRunner.allocatedBytes();
+		if (allocated != null) {
+			if (startBytes < 0 || endBytes < 0 || allocated[0] < 0) {
+				allocated[0] = -1;
+			} else {
+				allocated[0] = allocated[0] + (endBytes - startBytes);
+			}
+		}
+		return ops;
+	}
+
+	/**
+	 * Returns the bytes allocated so far by the running thread, or -1 if the JVM
+	 * does not offer the count.
+	 */
+	private static long allocatedBytes() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+		}
+		return -1;
+	}
+}
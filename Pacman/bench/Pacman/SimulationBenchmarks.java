@@ -0,0 +1,332 @@
+package Pacman;
+
+/**
+ * The benchmarks timed by BenchmarkRunner: a Ghost's BFS and its table lookup
+ * from every free cell towards every corner, checkCollision on squares full of
+ * dots and on squares already eaten, a whole tick of the game with all four
+ * Ghosts and Pacman moving, on the support map and on large generated mazes
+ * and with every phase timed by an Instrumentation, saving and restoring a
+ * game's state, and a step of a VectorEnv.
+ */
+public class SimulationBenchmarks {
+
+	/**
+	 * Returns every benchmark, set up on the given maze, along with whole ticks
+	 * on generated mazes of 200 by 200 and 2000 by 2000 squares. Those mazes
+	 * take seconds to build, so they are only generated once their benchmark
+	 * first runs, and not at all if it is filtered out.
+	 */
+	public static Benchmark[] all(Maze maze) {
+		return new Benchmark[] { new GhostBenchmark(maze, false), new GhostBenchmark(maze, true),
+				new CollisionBenchmark(maze, true), new CollisionBenchmark(maze, false),
+				new TickBenchmark(maze, "simulation.tick", null),
+				new TickBenchmark(maze, "simulation.tick.instrumented", new Instrumentation()),
+				new TickBenchmark(200, 200, "simulation.tick.200x200"),
+				new TickBenchmark(2000, 2000, "simulation.tick.2000x2000"),
+				new StateBenchmark(maze), new VectorEnvBenchmark(maze) };
+	}
+
+	/**
+	 * Returns every cell that is not a wall.
+	 */
+	private static int[] freeCells(Maze maze) {
+		int count = 0;
+		for (int cell = 0; cell < maze.getCells(); cell++) {
+			if (!maze.isWall(cell)) {
+				count = count + 1;
+			}
+		}
+		int[] cells = new int[count];
+		int i = 0;
+		for (int cell = 0; cell < maze.getCells(); cell++) {
+			if (!maze.isWall(cell)) {
+				cells[i++] = cell;
+			}
+		}
+		return cells;
+	}
+
+	/**
+	 * One operation is one Ghost decision towards one of the four corners, taken
+	 * from each free cell in turn. Either runs a full BFS or asks nextDirection,
+	 * which answers corners from the NextHopTable.
+	 */
+	private static class GhostBenchmark implements Benchmark {
+		private boolean _useTable;
+		private int[] _cells;
+		private BoardCoordinate[] _corners;
+		private Ghost _ghost;
+		private int _next;
+
+		public GhostBenchmark(Maze maze, boolean useTable) {
+			_useTable = useTable;
+			_cells = SimulationBenchmarks.freeCells(maze);
+			int lastRow = maze.getRows() - 1;
+			int lastCol = maze.getColumns() - 1;
+			_corners = new BoardCoordinate[] { new BoardCoordinate(maze, 0, 0, true),
+					new BoardCoordinate(maze, 0, lastCol, true), new BoardCoordinate(maze, lastRow, 0, true),
+					new BoardCoordinate(maze, lastRow, lastCol, true) };
+			_ghost = new Simulation(maze, 0).getGhosts()[0];
+			_next = 0;
+		}
+
+		@Override
+		public String getName() {
+			if (_useTable) {
+				return "ghost.nextDirection.allCells";
+			}
+			return "ghost.BFS.allCells";
+		}
+
+		@Override
+		public long run(int ops) {
+			long sum = 0;
+			for (int i = 0; i < ops; i++) {
+				_ghost.setCell(_cells[(_next >>> 2) % _cells.length]);
+				BoardCoordinate corner = _corners[_next & 3];
+				Direction dir;
+				if (_useTable) {
+					dir = _ghost.nextDirection(corner);
+				} else {
+					dir = _ghost.BFS(corner);
+				}
+				if (dir != null) {
+					sum = sum + dir.ordinal() + 1;
+				}
+				_next = (_next + 1) % (_cells.length * 4);
+			}
+			return sum;
+		}
+	}
+
+	/**
+	 * One operation is placing Pacman on a square and checking it for collisions.
+	 * The squares are every square that starts with a dot or energizer and has no
+	 * Ghost on it. When dense, the pickups are put back after every pass so that
+	 * nearly every check eats something; otherwise everything is eaten once
+	 * during setup and every check finds an empty square.
+	 */
+	private static class CollisionBenchmark implements Benchmark {
+		private boolean _dense;
+		private int[] _cells;
+		private Simulation _simulation;
+		private int _next;
+
+		public CollisionBenchmark(Maze maze, boolean dense) {
+			_dense = dense;
+			_simulation = new Simulation(maze, 0);
+			int[] free = SimulationBenchmarks.freeCells(maze);
+			int count = 0;
+			int[] cells = new int[free.length];
+			for (int cell : free) {
+				if ((maze.getDots().get(cell) || maze.getEnergizers().get(cell)) && !this.hasGhost(cell)) {
+					cells[count++] = cell;
+				}
+			}
+			_cells = java.util.Arrays.copyOf(cells, count);
+			if (!dense) {
+				for (int cell : _cells) {
+					_simulation.placePacman(cell);
+					_simulation.checkCollision();
+				}
+			}
+			_next = 0;
+		}
+
+		/**
+		 * Returns whether a Ghost stands on the cell.
+		 */
+		private boolean hasGhost(int cell) {
+			for (Ghost ghost : _simulation.getGhosts()) {
+				if (ghost.getCell() == cell) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public String getName() {
+			if (_dense) {
+				return "simulation.checkCollision.dots";
+			}
+			return "simulation.checkCollision.empty";
+		}
+
+		@Override
+		public long run(int ops) {
+			for (int i = 0; i < ops; i++) {
+				_simulation.placePacman(_cells[_next]);
+				_simulation.checkCollision();
+				_next = _next + 1;
+				if (_next == _cells.length) {
+					_next = 0;
+					if (_dense) {
+						_simulation.restorePickups();
+					}
+				}
+			}
+			return _simulation.getPoints();
+		}
+	}
+
+	/**
+	 * One operation is one tick of a game played by a RandomAgent, which moves
+	 * Pacman every 8 ticks and the pen and all four Ghosts every 11. When a game
+	 * ends, a new one is started with the next seed, so the cost of setting up a
+	 * game is included, spread over its ticks. Like the games on one thread of a
+	 * BatchRunner, the games share one SearchContext. Every game is timed into
+	 * the Instrumentation if there is one. A benchmark given a size instead of a
+	 * Maze generates its Maze the first time it runs.
+	 */
+	private static class TickBenchmark implements Benchmark {
+		private Maze _maze;
+		private int _rows;
+		private int _columns;
+		private String _name;
+		private long _seed;
+		private SearchContext _searchContext;
+		private Simulation _simulation;
+		private Agent _agent;
+		private Instrumentation _instrumentation;
+
+		public TickBenchmark(Maze maze, String name, Instrumentation instrumentation) {
+			_name = name;
+			_instrumentation = instrumentation;
+			_seed = 0;
+			this.setup(maze);
+		}
+
+		public TickBenchmark(int rows, int columns, String name) {
+			_rows = rows;
+			_columns = columns;
+			_name = name;
+			_seed = 0;
+		}
+
+		/**
+		 * Takes the Maze to play on and starts the first game.
+		 */
+		private void setup(Maze maze) {
+			_maze = maze;
+			_searchContext = new SearchContext(maze);
+			this.newGame();
+		}
+
+		/**
+		 * Starts a new game with the next seed.
+		 */
+		private void newGame() {
+			_seed = _seed + 1;
+			_simulation = new Simulation(_maze, _seed, _searchContext);
+			_simulation.setInstrumentation(_instrumentation);
+			_agent = new RandomAgent(new GameRandom(_seed).split());
+		}
+
+		@Override
+		public String getName() {
+			return _name;
+		}
+
+		@Override
+		public long run(int ops) {
+			if (_maze == null) {
+				this.setup(MazeGenerator.generate(_rows, _columns, 0));
+			}
+			for (int i = 0; i < ops; i++) {
+				if (_simulation.isOver()) {
+					this.newGame();
+				}
+				Direction direction = _agent.chooseDirection(_simulation);
+				if (direction != null) {
+					_simulation.setDirection(direction);
+				}
+				_simulation.tick();
+			}
+			return _simulation.getTick();
+		}
+	}
+
+	/**
+	 * One operation is saving a game's state and restoring it again, as a
+	 * lookahead Agent does before every rollout. The game is played for a few
+	 * hundred ticks first so that some dots have been eaten.
+	 */
+	private static class StateBenchmark implements Benchmark {
+		private Simulation _simulation;
+		private SimulationState _state;
+
+		public StateBenchmark(Maze maze) {
+			_simulation = new Simulation(maze, 0);
+			Agent agent = new RandomAgent(new GameRandom(0).split());
+			while (_simulation.getTick() < 400 && !_simulation.isOver()) {
+				Direction direction = agent.chooseDirection(_simulation);
+				if (direction != null) {
+					_simulation.setDirection(direction);
+				}
+				_simulation.tick();
+			}
+			_state = new SimulationState(_simulation);
+		}
+
+		@Override
+		public String getName() {
+			return "simulation.saveRestore";
+		}
+
+		@Override
+		public long run(int ops) {
+			for (int i = 0; i < ops; i++) {
+				_simulation.save(_state);
+				_simulation.restore(_state);
+			}
+			return _simulation.getTick() + _simulation.getPoints();
+		}
+	}
+
+	/**
+	 * One operation is one step of one game of a VectorEnv of 16 games writing
+	 * byte observations, with every game turning a different way each step. A
+	 * step is 8 ticks, so this is comparable to 8 of simulation.tick plus the
+	 * cost of observing.
+	 */
+	private static class VectorEnvBenchmark implements Benchmark {
+		private static final int GAMES = 16;
+		private static final int ACTIONS = 5; // The four Directions and NO_ACTION
+
+		private VectorEnv _env;
+		private int[] _actions;
+		private float[] _rewards;
+		private boolean[] _dones;
+		private int _next;
+
+		public VectorEnvBenchmark(Maze maze) {
+			_env = new VectorEnv(maze, GAMES, 100000);
+			_env.setObservations(java.nio.ByteBuffer.allocateDirect(_env.getObservationSize()));
+			_env.reset(0);
+			_actions = new int[GAMES];
+			_rewards = new float[GAMES];
+			_dones = new boolean[GAMES];
+			_next = 0;
+		}
+
+		@Override
+		public String getName() {
+			return "vectorEnv.step";
+		}
+
+		@Override
+		public long run(int ops) {
+			long sum = 0;
+			for (int i = 0; i < ops; i += GAMES) {
+				for (int j = 0; j < GAMES; j++) {
+					_actions[j] = (_next + j) % ACTIONS - 1;
+				}
+				_env.step(_actions, _rewards, _dones);
+				sum = sum + (long) _rewards[0];
+				_next = _next + 1;
+			}
+			return sum;
+		}
+	}
+}
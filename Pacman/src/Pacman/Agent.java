@@ -0,0 +1,14 @@
+package Pacman;
+
+/**
+ * An interface to be implemented by anything that plays Pacman in a headless
+ * game, in place of the KeyHandler.
+ */
+public interface Agent {
+
+	/**
+	 * Called before every tick. Returns the direction Pacman should turn to, or
+	 * null to keep his current direction.
+	 */
+	public Direction chooseDirection(Simulation simulation);
+}
@@ -0,0 +1,101 @@
+package Pacman;
+
+/**
+ * The results of every game of a batch, in the order of their seeds, together
+ * with totals over the batch.
+ */
+public class BatchResult {
+	private GameResult[] _games;
+	private int _wins;
+	private long _totalPoints;
+	private long _totalLivesLost;
+	private long _totalTicks;
+	private int _bestPoints;
+
+	/**
+	 * Takes in the results of every game and adds up the totals.
+	 */
+	public BatchResult(GameResult[] games) {
+		_games = games;
+		_bestPoints = 0;
+		for (GameResult game : games) {
+			if (game.isWon()) {
+				_wins = _wins + 1;
+			}
+			_totalPoints = _totalPoints + game.getPoints();
+			_totalLivesLost = _totalLivesLost + game.getLivesLost();
+			_totalTicks = _totalTicks + game.getTicks();
+			_bestPoints = Math.max(_bestPoints, game.getPoints());
+		}
+	}
+
+	/**
+	 * Returns the result of every game, in the order of their seeds.
+	 */
+	public GameResult[] getGames() {
+		return _games;
+	}
+
+	/**
+	 * Returns how many games were played.
+	 */
+	public int getGameCount() {
+		return _games.length;
+	}
+
+	/**
+	 * Returns how many games were won.
+	 */
+	public int getWins() {
+		return _wins;
+	}
+
+	/**
+	 * Returns how many games were lost or ran out of ticks.
+	 */
+	public int getLosses() {
+		return _games.length - _wins;
+	}
+
+	/**
+	 * Returns the total ticks played over every game.
+	 */
+	public long getTotalTicks() {
+		return _totalTicks;
+	}
+
+	/**
+	 * Returns the most points scored in a single game.
+	 */
+	public int getBestPoints() {
+		return _bestPoints;
+	}
+
+	/**
+	 * Returns the mean points scored per game.
+	 */
+	public double getMeanPoints() {
+		return (double) _totalPoints / Math.max(1, _games.length);
+	}
+
+	/**
+	 * Returns the mean lives lost per game.
+	 */
+	public double getMeanLivesLost() {
+		return (double) _totalLivesLost / Math.max(1, _games.length);
+	}
+
+	/**
+	 * Returns the mean ticks survived per game.
+	 */
+	public double getMeanTicks() {
+		return (double) _totalTicks / Math.max(1, _games.length);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("games=%d wins=%d losses=%d meanPoints=%.1f bestPoints=%d meanLivesLost=%.2f meanTicks=%.1f",
+				_games.length, _wins, this.getLosses(), this.getMeanPoints(), _bestPoints, this.getMeanLivesLost(),
+				this.getMeanTicks());
+	}
+}
@@ -0,0 +1,148 @@
+package Pacman;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongFunction;
+
+/**
+ * Plays many independent headless games across every core and gathers their
+ * results. All games share one Maze, which never changes, and with it the
+ * precomputed Ghost moves; everything a game changes (its Simulation, Ghosts,
+ * GameRandom, and Agent) belongs to that game alone, so the games never contend
+ * with each other. Each thread makes one SearchContext and lends it to every
+ * game it plays in turn, rather than every game making its own. Game i of a
+ * batch is played with seed baseSeed + i, so any game can be replayed from its
+ * GameResult.
+ */
+public class BatchRunner {
+	private static final int GAMES_PER_TASK = 4;
+	private static final long DEFAULT_MAX_TICKS = 100000;
+
+	private Maze _maze;
+	private ForkJoinPool _pool;
+	private LongFunction<Agent> _agents;
+	private long _maxTicks;
+	private ThreadLocal<SearchContext> _searchContexts;
+
+	/**
+	 * Takes in the maze to play, the pool to play on, a factory making a new
+	 * Agent for each game from that game's seed, and the number of ticks after
+	 * which an unfinished game is stopped.
+	 */
+	public BatchRunner(Maze maze, ForkJoinPool pool, LongFunction<Agent> agents, long maxTicks) {
+		_maze = maze;
+		_pool = pool;
+		_agents = agents;
+		_maxTicks = maxTicks;
+		_searchContexts = new ThreadLocal<SearchContext>() {
+			@Override
+			protected SearchContext initialValue() {
+				return new SearchContext(maze);
+			}
+		};
+	}
+
+	/**
+	 * Plays the given number of games, seeded baseSeed onwards, and waits for all
+	 * of them to finish.
+	 */
+	public BatchResult run(int games, long baseSeed) {
+		GameResult[] results = new GameResult[games];
+		_pool.invoke(new GameTask(_maze, _agents, _searchContexts, _maxTicks, results, baseSeed, 0, games));
+		return new BatchResult(results);
+	}
+
+	/**
+	 * Plays one game to the end, or until the tick limit, with the given seed.
+	 */
+	public GameResult playGame(long seed) {
+		return BatchRunner.playGame(_maze, _agents, _searchContexts.get(), _maxTicks, seed);
+	}
+
+	/**
+	 * Plays one game on the maze to the end, or until the tick limit, with the
+	 * given seed, an Agent made for it, and the calling thread's SearchContext.
+	 */
+	private static GameResult playGame(Maze maze, LongFunction<Agent> agents, SearchContext searchContext,
+			long maxTicks, long seed) {
+		Simulation simulation = new Simulation(maze, seed, searchContext);
+		long ticks = new TickScheduler(simulation).runUnpaced(maxTicks, agents.apply(seed));
+		return new GameResult(seed, simulation.getPoints(), Constants.START_LIVES - simulation.getLives(), ticks,
+				simulation.isWon());
+	}
+
+	/**
+	 * Splits a range of games in half until each half is small enough to play
+	 * directly, filling in each game's slot of the results Array. It holds
+	 * everything a game needs rather than its BatchRunner, and is never
+	 * serialized, though RecursiveAction is Serializable.
+	 */
+	private static class GameTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private transient Maze _maze;
+		private transient LongFunction<Agent> _agents;
+		private transient ThreadLocal<SearchContext> _searchContexts;
+		private long _maxTicks;
+		private GameResult[] _results;
+		private long _baseSeed;
+		private int _start;
+		private int _end;
+
+		public GameTask(Maze maze, LongFunction<Agent> agents, ThreadLocal<SearchContext> searchContexts,
+				long maxTicks, GameResult[] results, long baseSeed, int start, int end) {
+			_maze = maze;
+			_agents = agents;
+			_searchContexts = searchContexts;
+			_maxTicks = maxTicks;
+			_results = results;
+			_baseSeed = baseSeed;
+			_start = start;
+			_end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (_end - _start <= GAMES_PER_TASK) {
+				SearchContext searchContext = _searchContexts.get();
+				for (int i = _start; i < _end; i++) {
+					_results[i] = BatchRunner.playGame(_maze, _agents, searchContext, _maxTicks, _baseSeed + i);
+				}
+				return;
+			}
+			int middle = (_start + _end) >>> 1;
+			invokeAll(new GameTask(_maze, _agents, _searchContexts, _maxTicks, _results, _baseSeed, _start, middle),
+					new GameTask(_maze, _agents, _searchContexts, _maxTicks, _results, _baseSeed, middle, _end));
+		}
+	}
+
+	/**
+	 * Plays a batch of RandomAgent games on the support map and prints the totals.
+	 * Takes the number of games, the base seed, and the tick limit, in that order;
+	 * each is optional. Given a number of rows and columns after those, the games
+	 * are played on a Maze of that size generated from the base seed instead.
+	 */
+	public static void main(String[] argv) {
+		int games = argv.length > 0 ? Integer.parseInt(argv[0]) : 1000;
+		long baseSeed = argv.length > 1 ? Long.parseLong(argv[1]) : 0;
+		long maxTicks = argv.length > 2 ? Long.parseLong(argv[2]) : DEFAULT_MAX_TICKS;
+		Maze maze;
+		if (argv.length > 4) {
+			maze = MazeGenerator.generate(Integer.parseInt(argv[3]), Integer.parseInt(argv[4]), baseSeed);
+		} else {
+			maze = new Maze(cs015.fnl.PacmanSupport.SupportMap.getMap());
+		}
+		BatchRunner runner = new BatchRunner(maze, ForkJoinPool.commonPool(), new LongFunction<Agent>() {
+			@Override
+			public Agent apply(long seed) {
+				return new RandomAgent(new GameRandom(seed).split()); // Not the Simulation's own sequence
+			}
+		}, maxTicks);
+		long start = System.nanoTime();
+		BatchResult result = runner.run(games, baseSeed);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.println(result);
+		System.out.println(String.format("%.2f s, %.0f games/s, %.0f ticks/s", seconds, games / seconds,
+				result.getTotalTicks() / seconds));
+	}
+}
@@ -0,0 +1,234 @@
+package Pacman;
+
+import java.util.Arrays;
+
+/**
+ * One bit for every square of the board, packed 64 to a long. Square (row,
+ * column) is bit row * number of columns + column, so the 529 squares of the
+ * 23x23 board fit in 9 longs. Walls, dots, and energizers are each one
+ * BitBoard, which keeps a whole game's pickups in under 200 bytes and turns a
+ * lookup into a shift and a mask.
+ */
+public class BitBoard {
+	private int _rows;
+	private int _columns;
+	private long[] _words;
+
+	/**
+	 * Makes an empty BitBoard for a board of the given dimensions.
+	 */
+	public BitBoard(int rows, int columns) {
+		_rows = rows;
+		_columns = columns;
+		_words = new long[(rows * columns + 63) >>> 6];
+	}
+
+	/**
+	 * Makes a copy of the given BitBoard, so that a game can eat the dots of a
+	 * maze without changing the maze.
+	 */
+	public BitBoard(BitBoard other) {
+		_rows = other._rows;
+		_columns = other._columns;
+		_words = other._words.clone();
+	}
+
+	/**
+	 * Returns the number of rows.
+	 */
+	public int getRows() {
+		return _rows;
+	}
+
+	/**
+	 * Returns the number of columns.
+	 */
+	public int getColumns() {
+		return _columns;
+	}
+
+	/**
+	 * Returns the index of the square at the given row and column.
+	 */
+	public int square(int row, int col) {
+		return row * _columns + col;
+	}
+
+	/**
+	 * Returns whether the square's bit is set.
+	 */
+	public boolean get(int square) {
+		return (_words[square >>> 6] & (1L << square)) != 0;
+	}
+
+	/**
+	 * Returns whether the bit of the square at the given row and column is set.
+	 */
+	public boolean get(int row, int col) {
+		return this.get(row * _columns + col);
+	}
+
+	/**
+	 * Sets the square's bit.
+	 */
+	public void set(int square) {
+		_words[square >>> 6] |= 1L << square;
+	}
+
+	/**
+	 * Clears the square's bit.
+	 */
+	public void clear(int square) {
+		_words[square >>> 6] &= ~(1L << square);
+	}
+
+	/**
+	 * Clears the square's bit and returns whether it was set, which is how
+	 * Pacman eats whatever is on his square.
+	 */
+	public boolean testAndClear(int square) {
+		int word = square >>> 6;
+		long bit = 1L << square;
+		boolean wasSet = (_words[word] & bit) != 0;
+		_words[word] &= ~bit;
+		return wasSet;
+	}
+
+	/**
+	 * Returns the first square at or after the given one whose bit is set, or -1
+	 * if there is none, so that the set squares can be visited without checking
+	 * every square.
+	 */
+	public int nextSetBit(int square) {
+		int word = square >>> 6;
+		if (word >= _words.length) {
+			return -1;
+		}
+		long bits = _words[word] & (-1L << square);
+		while (true) {
+			if (bits != 0) {
+				return (word << 6) + Long.numberOfTrailingZeros(bits);
+			}
+			word = word + 1;
+			if (word == _words.length) {
+				return -1;
+			}
+			bits = _words[word];
+		}
+	}
+
+	/**
+	 * Returns how many bits are set.
+	 */
+	public int count() {
+		int count = 0;
+		for (long word : _words) {
+			count = count + Long.bitCount(word);
+		}
+		return count;
+	}
+
+	/**
+	 * Returns whether no bit is set.
+	 */
+	public boolean isEmpty() {
+		for (long word : _words) {
+			if (word != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Overwrites this BitBoard with the bits of another of the same dimensions.
+	 */
+	public void copyFrom(BitBoard other) {
+		System.arraycopy(other._words, 0, _words, 0, _words.length);
+	}
+
+	/**
+	 * Returns the number of longs the bits are packed into.
+	 */
+	public int getWordCount() {
+		return _words.length;
+	}
+
+	/**
+	 * Returns the ith long of packed bits, which holds squares i * 64 to
+	 * i * 64 + 63, so that two BitBoards can be compared 64 squares at a time.
+	 */
+	public long getWord(int i) {
+		return _words[i];
+	}
+
+	/**
+	 * Copies the packed bits into the Array starting at the given index, so
+	 * that a Simulation's pickups can be saved alongside the rest of its state.
+	 */
+	public void copyTo(long[] dest, int offset) {
+		System.arraycopy(_words, 0, dest, offset, _words.length);
+	}
+
+	/**
+	 * Overwrites the bits with ones saved by copyTo from a BitBoard of the same
+	 * dimensions.
+	 */
+	public void copyFrom(long[] src, int offset) {
+		System.arraycopy(src, offset, _words, 0, _words.length);
+	}
+
+	/**
+	 * Returns a mask of which of the square's four neighbors on the board have
+	 * their bits set, with bit i standing for the direction whose ordinal is i.
+	 * Neighbors off the edge of the board count as unset.
+	 */
+	public int neighborMask(int square) {
+		int row = square / _columns;
+		int col = square % _columns;
+		int mask = 0;
+		if (row > 0 && this.get(square - _columns)) {
+			mask |= 1 << Direction.UP.ordinal();
+		}
+		if (row < _rows - 1 && this.get(square + _columns)) {
+			mask |= 1 << Direction.DOWN.ordinal();
+		}
+		if (col > 0 && this.get(square - 1)) {
+			mask |= 1 << Direction.LEFT.ordinal();
+		}
+		if (col < _columns - 1 && this.get(square + 1)) {
+			mask |= 1 << Direction.RIGHT.ordinal();
+		}
+		return mask;
+	}
+
+	/**
+	 * Returns a new BitBoard with every bit flipped, such as the free squares of
+	 * a board of walls.
+	 */
+	public BitBoard inverted() {
+		BitBoard inverted = new BitBoard(_rows, _columns);
+		for (int i = 0; i < _words.length; i++) {
+			inverted._words[i] = ~_words[i];
+		}
+		int extra = (_words.length << 6) - _rows * _columns;
+		if (extra > 0) { // Keeps the bits past the last square clear so count stays right
+			inverted._words[_words.length - 1] &= -1L >>> extra;
+		}
+		return inverted;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (!(other instanceof BitBoard)) {
+			return false;
+		}
+		BitBoard board = (BitBoard) other;
+		return _rows == board._rows && _columns == board._columns && Arrays.equals(_words, board._words);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(_words);
+	}
+}
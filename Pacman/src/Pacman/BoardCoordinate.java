@@ -3,8 +3,8 @@ package Pacman;
 /**
  * This class is an immutable representation of some coordinate within the
  * Pacman board world. As the board consists of square blocks arranged in a
- * 23x23 grid, all elements/blocks in the game must exist within this coordinate
- * space. *However*, when creating targets in Chase mode, your target may be out
+ * grid the size of the Maze, all elements/blocks in the game must exist within
+ * this coordinate space. *However*, when creating targets in Chase mode, your target may be out
  * of the bounds of the board -- that is okay for this scenario only. Therefore,
  * you can explicitly override the bounds-checking functionality by setting
  * isTarget to true in the constructor's third parameter. You should *only*
@@ -28,17 +28,16 @@ public class BoardCoordinate {
 
     private final int _row;
     private final int _column;
-    private static final int _ROW_MAX = 22;
-    private static final int _COL_MAX = 22;
 
     /**
-     * The constructor. it takes in a row and a column whose location this
-     * instance will model, and a boolean of whether the square is a target
-     * square (see header comments for more on this).
+     * The constructor. it takes in the Maze whose board bounds the coordinate,
+     * a row and a column whose location this instance will model, and a boolean
+     * of whether the square is a target square (see header comments for more on
+     * this).
      */
-    public BoardCoordinate(int row, int column, boolean isTarget) {
+    public BoardCoordinate(Maze maze, int row, int column, boolean isTarget) {
         if (!isTarget) {
-            this.checkValidity(row, column);
+            this.checkValidity(row, column, maze.getRows() - 1, maze.getColumns() - 1);
         }
         _row = row;
         _column = column;
@@ -56,8 +55,8 @@ public class BoardCoordinate {
 
     /**
      * Checks that the row and index passed into this class' constructor are
-     * bounded by 0 and the _ROW_MAX for the row and the _COL_MAX for the column,
-     * respectively.
+     * bounded by 0 and the last row of the Maze for the row and its last column
+     * for the column, respectively.
      *
      * NOTE: You've seen exceptions like ArrayIndexOutOfBounds exceptions being
      * thrown before, but you haven't seen what code that generates these
@@ -68,12 +67,12 @@ public class BoardCoordinate {
      * and ArrayIndexOutOfBounds Exceptions usually indicate that something is
      * wrong with the code, and needs to be fixed.
      */
-    private void checkValidity(int row, int column) {
+    private void checkValidity(int row, int column, int rowMax, int colMax) {
         if (row < 0 || column < 0) {
             throw new IllegalArgumentException(
                       "Board Coordinates must not be negative: " +
                       " Given row = " + row + " col = " + column);
-        } else if (row > _ROW_MAX || column > _COL_MAX) {
+        } else if (row > rowMax || column > colMax) {
             throw new IllegalArgumentException(
                       "Board Coordinates must not exceed board dimensions: " +
                       " Given row = " + row + " col = " + column);
@@ -0,0 +1,110 @@
+package Pacman;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+/**
+ * Draws a game onto a single Canvas instead of keeping a node for every square,
+ * dot, energizer, and Ghost. The walls never change, so they are drawn once when
+ * the renderer is made and kept as an image; every frame copies that image and
+ * draws the remaining dots and energizers, the Ghosts, and Pacman on top of it
+ * from a GameSnapshot of the game.
+ */
+public class CanvasRenderer {
+	private Canvas _canvas;
+	private GraphicsContext _graphics;
+	private WritableImage _walls;
+	private Maze _maze;
+	private Color[] _ghostColors;
+
+	/**
+	 * Instantiates a Canvas the size of the maze, adds it to the pane, and
+	 * rasterizes the walls into a cached image.
+	 */
+	public CanvasRenderer(Pane pane, Maze maze) {
+		_maze = maze;
+		_canvas = new Canvas(maze.getColumns() * Constants.SQUARE_SIZE, maze.getRows() * Constants.SQUARE_SIZE);
+		_graphics = _canvas.getGraphicsContext2D();
+		/*
+		 * In the order of the Simulation's Ghosts: Blinky, Pinky, Inky, Clyde
+		 */
+		_ghostColors = new Color[] { Color.RED, Color.PINK, Color.TURQUOISE, Color.ORANGE };
+		this.setupWalls();
+		pane.getChildren().add(_canvas);
+	}
+
+	/**
+	 * Draws the black board and its white walls once and keeps a snapshot of them
+	 * to start every frame from.
+	 */
+	private void setupWalls() {
+		_graphics.setFill(Color.BLACK);
+		_graphics.fillRect(0, 0, _canvas.getWidth(), _canvas.getHeight());
+		_graphics.setFill(Color.WHITE);
+		BitBoard walls = _maze.getWalls();
+		for (int cell = walls.nextSetBit(0); cell >= 0; cell = walls.nextSetBit(cell + 1)) {
+			_graphics.fillRect(_maze.getCol(cell) * Constants.SQUARE_SIZE, _maze.getRow(cell) * Constants.SQUARE_SIZE,
+					Constants.SQUARE_SIZE, Constants.SQUARE_SIZE);
+		}
+		SnapshotParameters parameters = new SnapshotParameters();
+		parameters.setFill(Color.BLACK);
+		_walls = _canvas.snapshot(parameters, null);
+	}
+
+	/**
+	 * Draws one frame of the game: the cached walls, then the dots and energizers
+	 * left, then the Ghosts, light blue while frightened, and finally Pacman.
+	 */
+	public void draw(GameSnapshot snapshot) {
+		_graphics.drawImage(_walls, 0, 0);
+
+		_graphics.setFill(Color.LIGHTGREY);
+		this.drawCircles(snapshot.getDots(), Constants.DOT_SIZE);
+		this.drawCircles(snapshot.getEnergizers(), Constants.ENERGIZER_SIZE);
+
+		for (int i = 0; i < snapshot.getGhostCount(); i++) {
+			if (snapshot.getMode() == Mode.FRIGHTENED) {
+				_graphics.setFill(Color.LIGHTBLUE);
+			} else {
+				_graphics.setFill(_ghostColors[i]);
+			}
+			int cell = snapshot.getGhostCell(i);
+			_graphics.fillRect(_maze.getCol(cell) * Constants.SQUARE_SIZE, _maze.getRow(cell) * Constants.SQUARE_SIZE,
+					Constants.SQUARE_SIZE, Constants.SQUARE_SIZE);
+		}
+
+		_graphics.setFill(Color.YELLOW);
+		this.drawCircle(snapshot.getPacCell(), Constants.PAC_SIZE);
+	}
+
+	/**
+	 * Draws a circle of the given radius in the center of every square set in the
+	 * BitBoard, in the current fill color.
+	 */
+	private void drawCircles(BitBoard board, int radius) {
+		for (int cell = board.nextSetBit(0); cell >= 0; cell = board.nextSetBit(cell + 1)) {
+			this.drawCircle(cell, radius);
+		}
+	}
+
+	/**
+	 * Draws a circle of the given radius in the center of the cell's square, in
+	 * the current fill color.
+	 */
+	private void drawCircle(int cell, int radius) {
+		double centerX = (_maze.getCol(cell) * Constants.SQUARE_SIZE) + Constants.SQUARE_SIZE / 2;
+		double centerY = (_maze.getRow(cell) * Constants.SQUARE_SIZE) + Constants.SQUARE_SIZE / 2;
+		_graphics.fillOval(centerX - radius, centerY - radius, radius * 2, radius * 2);
+	}
+
+	/**
+	 * Returns the Canvas the game is drawn on.
+	 */
+	public Canvas getCanvas() {
+		return _canvas;
+	}
+}
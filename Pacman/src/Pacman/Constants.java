@@ -11,13 +11,20 @@ public class Constants {
 	public static final int PANE_WIDTH = 575;
 	public static final int PANE_HEIGHT = 575;
 	public static final int SQUARE_SIZE = 25;
-	public static final int NUM_COLUMNS = 23;
-	public static final int NUM_ROWS = 23;
 	public static final int DOT_SIZE = 4;
 	public static final int ENERGIZER_SIZE = 8;
 	public static final int PAC_SIZE = 6;
-	public static final double PAC_DURATION = 0.16;
-	public static final double DURATION = 0.22;
-	public static final int PAC_START_ROW = 17;
-	public static final int PAC_START_COL = 11;
+	public static final double TICK_DURATION = 0.02;
+	public static final int PAC_TICKS = 8;
+	public static final int GHOST_TICKS = 11;
+	public static final int START_LIVES = 3;
+	public static final int NUM_GHOSTS = 4;
+	public static final int DOT_POINTS = 10;
+	public static final int ENERGIZER_POINTS = 100;
+	public static final int GHOST_POINTS = 200;
+	public static final int SCATTER_START = 100;
+	public static final int SCATTER_END = 135;
+	public static final int FRIGHTENED_END = 35;
+	public static final int PEN_RELEASE = 17;
+	public static final int NEXT_HOP_MAX_CELLS = 1024;
 }
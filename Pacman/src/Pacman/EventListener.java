@@ -0,0 +1,16 @@
+package Pacman;
+
+/**
+ * An interface to be implemented by anything that wants to hear what happened
+ * in a Simulation without the Simulation knowing about it, such as the
+ * Instrumentation counting events.
+ */
+public interface EventListener {
+
+	/**
+	 * Called once at the end of every tick in which something happened, with
+	 * the game and the EventLog of that tick's events in the order they
+	 * happened. The EventLog is only valid during the call.
+	 */
+	public void handle(Simulation simulation, EventLog events);
+}
@@ -0,0 +1,121 @@
+package Pacman;
+
+/**
+ * The events of one tick of a Simulation, in a ring buffer allocated once per
+ * game. Each event is an EventType and the cell, Ghost, and points involved,
+ * kept in parallel primitive Arrays so that recording one writes four numbers
+ * and allocates nothing. The Simulation appends to it as it resolves
+ * collisions and hands the whole tick's batch to its EventListeners at the
+ * end of the tick, then clears it, so no listener ever runs inside the
+ * collision loop.
+ *
+ * A tick produces a handful of events at most, far fewer than the capacity.
+ * Collisions resolved outside of a tick, as the benchmarks do, are only
+ * handed out at the end of the next tick, so the ring stays a fixed size and,
+ * once full, overwrites the oldest event. Every event overwritten is counted,
+ * and the count is handed out with the batch it was lost from, so listeners
+ * can tell a batch is incomplete.
+ */
+public class EventLog {
+	private static final EventType[] TYPES = EventType.values();
+	private static final int CAPACITY = 64;
+	private static final int MASK = CAPACITY - 1;
+
+	private byte[] _types;
+	private int[] _cells;
+	private int[] _ghosts;
+	private int[] _points;
+	private long _head;
+	private long _tail;
+	private int _droppedCount;
+
+	/**
+	 * Makes an empty EventLog.
+	 */
+	public EventLog() {
+		_types = new byte[CAPACITY];
+		_cells = new int[CAPACITY];
+		_ghosts = new int[CAPACITY];
+		_points = new int[CAPACITY];
+	}
+
+	/**
+	 * Appends an event, overwriting the oldest if the ring is full. The ghost is
+	 * the index of the Ghost involved, or -1 for none.
+	 */
+	void add(EventType type, int cell, int ghost, int points) {
+		int slot = (int) (_tail & MASK);
+		_types[slot] = (byte) type.ordinal();
+		_cells[slot] = cell;
+		_ghosts[slot] = ghost;
+		_points[slot] = points;
+		_tail = _tail + 1;
+		if (_tail - _head > CAPACITY) {
+			_head = _tail - CAPACITY;
+			_droppedCount = _droppedCount + 1;
+		}
+	}
+
+	/**
+	 * Drops every event, once they have been handed out.
+	 */
+	void clear() {
+		_head = _tail;
+		_droppedCount = 0;
+	}
+
+	/**
+	 * Returns the number of events.
+	 */
+	public int getCount() {
+		return (int) (_tail - _head);
+	}
+
+	/**
+	 * Returns the number of events overwritten since the last batch was handed
+	 * out, which are missing from this one. It is 0 unless collisions were
+	 * resolved outside of ticks.
+	 */
+	public int getDroppedCount() {
+		return _droppedCount;
+	}
+
+	/**
+	 * Returns what the ith event was.
+	 */
+	public EventType getType(int i) {
+		return TYPES[_types[this.slot(i)]];
+	}
+
+	/**
+	 * Returns the cell the ith event happened on.
+	 */
+	public int getCell(int i) {
+		return _cells[this.slot(i)];
+	}
+
+	/**
+	 * Returns the index of the Ghost eaten or catching Pacman in the ith event,
+	 * or -1 for a dot or energizer.
+	 */
+	public int getGhost(int i) {
+		return _ghosts[this.slot(i)];
+	}
+
+	/**
+	 * Returns the points scored by the ith event.
+	 */
+	public int getPoints(int i) {
+		return _points[this.slot(i)];
+	}
+
+	/**
+	 * Returns where in the ring the ith event is.
+	 */
+	private int slot(int i) {
+		if (i < 0 || i >= this.getCount()) {
+			throw new IndexOutOfBoundsException("Event " + i + " of " + this.getCount());
+		}
+		return (int) ((_head + i) & MASK);
+	}
+}
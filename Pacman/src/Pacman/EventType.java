@@ -0,0 +1,9 @@
+package Pacman;
+
+/**
+ * Enums to represent what can happen when Pacman meets something on his
+ * square: eating a dot, an energizer, or a frightened Ghost, or being caught
+ */
+public enum EventType {
+	DOT_EATEN, ENERGIZER_EATEN, GHOST_EATEN, PACMAN_CAUGHT;
+}
@@ -0,0 +1,140 @@
+package Pacman;
+
+import java.util.Arrays;
+
+/**
+ * The direction every Ghost should take towards one fixed target, for every
+ * free cell and every direction the Ghost may have arrived in. It is built by
+ * one search outwards from the target instead of one search from every Ghost
+ * on every move, and gives exactly the answers Ghost's BFS method would.
+ *
+ * The BFS heads for the reached square closest to the target, and every square
+ * connected to the Ghost's is reached. So within each connected part of the
+ * board, the squares closest to the target are found first, and their distance
+ * in steps to every other square is counted with one search started from all
+ * of them at once. A Ghost then takes the first direction in the BFS's order,
+ * other than back, whose neighbor is fewest steps away; that is the first step
+ * of the first closest square its BFS would reach. Entries are stored as
+ * Direction ordinals indexed by cell * 4 + previous direction, and -1 means the
+ * Ghost has no legal move.
+ */
+public class FlowField {
+	private static final byte NO_MOVE = -1;
+	private static final Direction[] DIRECTIONS = Direction.values();
+	private static final Direction[] SEARCH_ORDER = { Direction.DOWN, Direction.UP, Direction.RIGHT, Direction.LEFT };
+
+	private int _targetRow;
+	private int _targetCol;
+	private int[] _steps;
+	private byte[] _hops;
+
+	/**
+	 * Takes in the Maze and the target square, which may lie off the board,
+	 * finds the closest squares of every connected part of the Maze, counts the
+	 * steps from them to every square, and stores the resulting direction for
+	 * every cell and previous direction.
+	 */
+	public FlowField(Maze maze, int targetRow, int targetCol) {
+		_targetRow = targetRow;
+		_targetCol = targetCol;
+		int cells = maze.getCells();
+		int[] queue = new int[cells];
+
+		/*
+		 * Every connected part gets its own smallest distance to the target, and the
+		 * squares at that distance are where the counting starts
+		 */
+		long[] closest = new long[maze.getPartCount()];
+		Arrays.fill(closest, Long.MAX_VALUE);
+		for (int cell = 0; cell < cells; cell++) {
+			if (maze.getPart(cell) >= 0) {
+				closest[maze.getPart(cell)] = Math.min(closest[maze.getPart(cell)], this.distance(maze, cell));
+			}
+		}
+		_steps = new int[cells];
+		Arrays.fill(_steps, Integer.MAX_VALUE);
+		int tail = 0;
+		for (int cell = 0; cell < cells; cell++) {
+			if (maze.getPart(cell) >= 0 && this.distance(maze, cell) == closest[maze.getPart(cell)]) {
+				_steps[cell] = 0;
+				queue[tail++] = cell;
+			}
+		}
+		for (int head = 0; head < tail; head++) {
+			int current = queue[head];
+			for (Direction dir : DIRECTIONS) {
+				int neighbor = maze.neighbor(current, dir);
+				if (neighbor >= 0 && _steps[neighbor] == Integer.MAX_VALUE) {
+					_steps[neighbor] = _steps[current] + 1;
+					queue[tail++] = neighbor;
+				}
+			}
+		}
+
+		_hops = new byte[cells * DIRECTIONS.length];
+		Arrays.fill(_hops, NO_MOVE);
+		for (int cell = 0; cell < cells; cell++) {
+			if (maze.isWall(cell)) {
+				continue;
+			}
+			for (Direction prevDir : DIRECTIONS) {
+				Direction behind = prevDir.getOpposite();
+				int fewestSteps = Integer.MAX_VALUE;
+				for (Direction dir : SEARCH_ORDER) {
+					int neighbor = maze.neighbor(cell, dir);
+					if (dir != behind && neighbor >= 0 && _steps[neighbor] < fewestSteps) {
+						fewestSteps = _steps[neighbor];
+						_hops[cell * DIRECTIONS.length + prevDir.ordinal()] = (byte) dir.ordinal();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the squared distance from the cell to the target, as Ghost's BFS
+	 * compares it.
+	 */
+	private long distance(Maze maze, int cell) {
+		long rowDist = maze.getRow(cell) - _targetRow;
+		long colDist = maze.getCol(cell) - _targetCol;
+		return rowDist * rowDist + colDist * colDist;
+	}
+
+	/**
+	 * Returns the direction a Ghost on the given cell, having last moved in
+	 * prevDir, should move in to approach the target, or null if it cannot
+	 * move.
+	 */
+	public Direction nextHop(int cell, Direction prevDir) {
+		byte hop = _hops[cell * DIRECTIONS.length + prevDir.ordinal()];
+		if (hop == NO_MOVE) {
+			return null;
+		}
+		return DIRECTIONS[hop];
+	}
+
+	/**
+	 * Returns the number of steps from the cell to the closest squares to the
+	 * target in its part of the Maze, or Integer.MAX_VALUE for walls. Since a
+	 * move changes it by at most one, the difference between two cells' steps
+	 * is never more than the steps between them.
+	 */
+	public int getSteps(int cell) {
+		return _steps[cell];
+	}
+
+	/**
+	 * Returns the row of the target.
+	 */
+	public int getTargetRow() {
+		return _targetRow;
+	}
+
+	/**
+	 * Returns the column of the target.
+	 */
+	public int getTargetCol() {
+		return _targetCol;
+	}
+}
@@ -0,0 +1,137 @@
+package Pacman;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The Java Flight Recorder events the Simulation emits, so that a recording
+ * shows the game's own ticks, Ghost decisions, collisions, and mode switches
+ * on the same timeline as garbage collections and compilations. Each event is
+ * only timed, filled in, and committed if a recording has it enabled, so when
+ * nothing is recording an event costs the check and nothing more.
+ * They are recorded by starting the JVM with -XX:StartFlightRecording or by
+ * starting a recording with jcmd.
+ */
+public class GameEvents {
+
+	/**
+	 * One tick of a game, lasting as long as the tick took to run.
+	 */
+	@Name("Pacman.Tick")
+	@Label("Tick")
+	@Category("Pacman")
+	@Description("One tick of a game")
+	static class Tick extends Event {
+		@Label("Tick")
+		long tick;
+
+		@Label("Pacman Moved")
+		boolean pacmanMoved;
+
+		@Label("Ghosts Moved")
+		boolean ghostsMoved;
+
+		@Label("Mode")
+		String mode;
+
+		@Label("Points")
+		int points;
+
+		@Label("Lives")
+		int lives;
+	}
+
+	/**
+	 * One Ghost choosing its way on a junction, lasting as long as the choice
+	 * took.
+	 */
+	@Name("Pacman.GhostDecision")
+	@Label("Ghost Decision")
+	@Category("Pacman")
+	@Description("A Ghost choosing which way to go on a junction")
+	static class GhostDecision extends Event {
+		@Label("Ghost")
+		@Description("0 for Blinky, 1 for Pinky, 2 for Inky, 3 for Clyde")
+		int ghost;
+
+		@Label("Row")
+		int row;
+
+		@Label("Column")
+		int column;
+
+		@Label("Target Row")
+		int targetRow;
+
+		@Label("Target Column")
+		int targetColumn;
+
+		@Label("Mode")
+		String mode;
+
+		@Label("Direction")
+		@Description("The direction chosen, or null if the Ghost could not move")
+		String direction;
+
+		@Label("Searched")
+		@Description("Whether a search was run rather than a table read")
+		boolean searched;
+
+		@Label("Visited")
+		@Description("Squares queued by a BFS, or junctions closed by a search of the JunctionGraph")
+		long visited;
+	}
+
+	/**
+	 * Something resolved on Pacman's square: a dot or energizer eaten, a
+	 * frightened Ghost eaten, or Pacman caught.
+	 */
+	@Name("Pacman.Collision")
+	@Label("Collision")
+	@Category("Pacman")
+	@Description("A dot, energizer, or Ghost eaten, or Pacman caught")
+	static class Collision extends Event {
+		@Label("Kind")
+		@Description("The EventType of the collision")
+		String kind;
+
+		@Label("Row")
+		int row;
+
+		@Label("Column")
+		int column;
+
+		@Label("Ghost")
+		@Description("The Ghost involved, or -1 for a dot or energizer")
+		int ghost;
+
+		@Label("Points")
+		@Description("The points scored by the collision")
+		int points;
+
+		@Label("Lives")
+		@Description("The lives left at the end of the tick")
+		int lives;
+	}
+
+	/**
+	 * The Ghosts switching modes.
+	 */
+	@Name("Pacman.ModeSwitch")
+	@Label("Mode Switch")
+	@Category("Pacman")
+	@Description("The Ghosts switching modes")
+	static class ModeSwitch extends Event {
+		@Label("From")
+		String from;
+
+		@Label("To")
+		String to;
+
+		@Label("Tick")
+		long tick;
+	}
+}
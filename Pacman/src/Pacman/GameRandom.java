@@ -0,0 +1,84 @@
+package Pacman;
+
+/**
+ * A small counter-based random number generator owned by a single game. Its
+ * whole state is one long that advances by a fixed odd constant per draw, and
+ * each draw is that counter run through the SplitMix64 finalizer. Nothing is
+ * shared between instances and nothing is atomic, so games on different threads
+ * never contend, and because the state is a plain long it can be read back and
+ * restored to replay a game from any point. Not suitable for security.
+ */
+public class GameRandom {
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	private long _state;
+
+	/**
+	 * Starts the generator at the given seed. Seeds that differ by one give
+	 * unrelated sequences since every output is mixed.
+	 */
+	public GameRandom(long seed) {
+		_state = seed;
+	}
+
+	/**
+	 * Returns the next 64 random bits.
+	 */
+	public long nextLong() {
+		_state = _state + GOLDEN_GAMMA;
+		return mix(_state);
+	}
+
+	/**
+	 * Returns a random int from 0 up to but not including bound, which must be
+	 * positive. The high 32 bits of a draw are scaled by the bound, and the rare
+	 * draws that would favor some values are rejected so every value is equally
+	 * likely.
+	 */
+	public int nextInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("Bound must be positive: " + bound);
+		}
+		long product = (this.nextLong() >>> 32) * bound;
+		if ((product & 0xFFFFFFFFL) < bound) {
+			long threshold = (0x100000000L - bound) % bound;
+			while ((product & 0xFFFFFFFFL) < threshold) {
+				product = (this.nextLong() >>> 32) * bound;
+			}
+		}
+		return (int) (product >>> 32);
+	}
+
+	/**
+	 * Returns a new generator seeded from this one's next draw, for handing an
+	 * independent sequence to something else, such as a game's Agent.
+	 */
+	public GameRandom split() {
+		return new GameRandom(this.nextLong());
+	}
+
+	/**
+	 * Returns the generator's entire state.
+	 */
+	public long getState() {
+		return _state;
+	}
+
+	/**
+	 * Restores a state returned by getState, after which the generator repeats
+	 * the draws it made from that point.
+	 */
+	public void setState(long state) {
+		_state = state;
+	}
+
+	/**
+	 * The SplitMix64 finalizer: scrambles every bit of the counter into every bit
+	 * of the output.
+	 */
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
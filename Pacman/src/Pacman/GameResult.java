@@ -0,0 +1,58 @@
+package Pacman;
+
+/**
+ * The outcome of one headless game played by the BatchRunner.
+ */
+public class GameResult {
+	private long _seed;
+	private int _points;
+	private int _livesLost;
+	private long _ticks;
+	private boolean _won;
+
+	/**
+	 * Records the seed the game was played with and how it ended.
+	 */
+	public GameResult(long seed, int points, int livesLost, long ticks, boolean won) {
+		_seed = seed;
+		_points = points;
+		_livesLost = livesLost;
+		_ticks = ticks;
+		_won = won;
+	}
+
+	/**
+	 * Returns the seed the game was played with, so that it can be replayed.
+	 */
+	public long getSeed() {
+		return _seed;
+	}
+
+	/**
+	 * Returns the points scored.
+	 */
+	public int getPoints() {
+		return _points;
+	}
+
+	/**
+	 * Returns how many lives were lost.
+	 */
+	public int getLivesLost() {
+		return _livesLost;
+	}
+
+	/**
+	 * Returns how many ticks the game lasted.
+	 */
+	public long getTicks() {
+		return _ticks;
+	}
+
+	/**
+	 * Returns whether every dot and energizer was eaten.
+	 */
+	public boolean isWon() {
+		return _won;
+	}
+}
@@ -0,0 +1,135 @@
+package Pacman;
+
+/**
+ * Everything needed to draw one tick of a game, copied out of a Simulation so
+ * that the JavaFX Application Thread can draw it while the simulation thread
+ * carries on. A snapshot is only filled in by the simulation thread before it
+ * is published through a SnapshotBuffer and is never changed while the
+ * renderer holds it, so to the renderer it is immutable. Snapshots are reused
+ * rather than allocated every tick.
+ */
+public class GameSnapshot {
+	private long _tick;
+	private int _pacCell;
+	private int[] _ghostCells;
+	private Mode _mode;
+	private BitBoard _dots;
+	private BitBoard _energizers;
+	private int _points;
+	private int _lives;
+	private boolean _won;
+	private boolean _lost;
+
+	/**
+	 * Makes an empty snapshot sized for the given maze.
+	 */
+	public GameSnapshot(Maze maze) {
+		_ghostCells = new int[Constants.NUM_GHOSTS];
+		_dots = new BitBoard(maze.getRows(), maze.getColumns());
+		_energizers = new BitBoard(maze.getRows(), maze.getColumns());
+		_mode = Mode.CHASE;
+	}
+
+	/**
+	 * Copies the current state of the Simulation into this snapshot.
+	 */
+	public void capture(Simulation simulation) {
+		_tick = simulation.getTick();
+		_pacCell = simulation.getPacCell();
+		Ghost[] ghosts = simulation.getGhosts();
+		for (int i = 0; i < ghosts.length; i++) {
+			_ghostCells[i] = ghosts[i].getCell();
+		}
+		_mode = simulation.getMode();
+		_dots.copyFrom(simulation.getDots());
+		_energizers.copyFrom(simulation.getEnergizers());
+		_points = simulation.getPoints();
+		_lives = simulation.getLives();
+		_won = simulation.isWon();
+		_lost = simulation.isLost();
+	}
+
+	/**
+	 * Returns the tick the snapshot was taken at.
+	 */
+	public long getTick() {
+		return _tick;
+	}
+
+	/**
+	 * Returns Pacman's cell.
+	 */
+	public int getPacCell() {
+		return _pacCell;
+	}
+
+	/**
+	 * Returns the number of Ghosts.
+	 */
+	public int getGhostCount() {
+		return _ghostCells.length;
+	}
+
+	/**
+	 * Returns the cell of the ith Ghost, in the order Blinky, Pinky, Inky, Clyde.
+	 */
+	public int getGhostCell(int i) {
+		return _ghostCells[i];
+	}
+
+	/**
+	 * Returns the mode the Ghosts are in.
+	 */
+	public Mode getMode() {
+		return _mode;
+	}
+
+	/**
+	 * Returns the BitBoard of dots not yet eaten.
+	 */
+	public BitBoard getDots() {
+		return _dots;
+	}
+
+	/**
+	 * Returns the BitBoard of energizers not yet eaten.
+	 */
+	public BitBoard getEnergizers() {
+		return _energizers;
+	}
+
+	/**
+	 * Returns the points scored so far.
+	 */
+	public int getPoints() {
+		return _points;
+	}
+
+	/**
+	 * Returns the lives left.
+	 */
+	public int getLives() {
+		return _lives;
+	}
+
+	/**
+	 * Returns whether every dot and energizer had been eaten.
+	 */
+	public boolean isWon() {
+		return _won;
+	}
+
+	/**
+	 * Returns whether Pacman had run out of lives.
+	 */
+	public boolean isLost() {
+		return _lost;
+	}
+
+	/**
+	 * Returns whether the game had been lost or won.
+	 */
+	public boolean isOver() {
+		return _won || _lost;
+	}
+}
@@ -0,0 +1,149 @@
+package Pacman;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts recorded values, such as nanoseconds or bytes, in buckets that grow
+ * with the value, so that any percentile can be read back to within about 6%
+ * from under a thousand counters. Values below 16 get a bucket each, and every
+ * power of two above that is split into 16 buckets of equal width. The largest
+ * value is kept exactly.
+ *
+ * A Histogram is written by a single thread and may be read by any other. The
+ * counters are an AtomicLongArray updated with lazySet, which costs no more
+ * than a plain write for the one writer, while readers on other threads always
+ * see whole counts.
+ */
+public class Histogram {
+	private static final int SUB_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	private static final int BUCKETS = (Long.SIZE - SUB_BITS + 1) * SUB_BUCKETS;
+	private static final int COUNT = BUCKETS;
+	private static final int MAX = BUCKETS + 1;
+	private static final int TOTAL = BUCKETS + 2;
+
+	private AtomicLongArray _counts;
+
+	/**
+	 * Makes an empty Histogram.
+	 */
+	public Histogram() {
+		_counts = new AtomicLongArray(BUCKETS + 3);
+	}
+
+	/**
+	 * Counts a value, which must not be negative. Only ever called by the one
+	 * thread writing to this Histogram.
+	 */
+	public void record(long value) {
+		int bucket = Histogram.bucket(value);
+		_counts.lazySet(bucket, _counts.get(bucket) + 1);
+		_counts.lazySet(COUNT, _counts.get(COUNT) + 1);
+		_counts.lazySet(TOTAL, _counts.get(TOTAL) + value);
+		if (value > _counts.get(MAX)) {
+			_counts.lazySet(MAX, value);
+		}
+	}
+
+	/**
+	 * Makes this Histogram a copy of another, as read at one moment. Only ever
+	 * called by the thread that owns this Histogram; the other may be being
+	 * written to meanwhile.
+	 */
+	public void copyFrom(Histogram other) {
+		for (int i = 0; i < _counts.length(); i++) {
+			_counts.lazySet(i, other._counts.get(i));
+		}
+	}
+
+	/**
+	 * Makes this Histogram the values counted by a later copy of a Histogram
+	 * since an earlier copy of it, so that percentiles can be read over an
+	 * interval rather than over all time. The largest value becomes the top of
+	 * the highest bucket counted in, but never more than the later copy's.
+	 */
+	public void setToChange(Histogram later, Histogram earlier) {
+		long max = 0;
+		for (int bucket = 0; bucket < BUCKETS; bucket++) {
+			long count = later._counts.get(bucket) - earlier._counts.get(bucket);
+			_counts.lazySet(bucket, count);
+			if (count > 0) {
+				max = Histogram.highestIn(bucket);
+			}
+		}
+		_counts.lazySet(COUNT, later._counts.get(COUNT) - earlier._counts.get(COUNT));
+		_counts.lazySet(TOTAL, later._counts.get(TOTAL) - earlier._counts.get(TOTAL));
+		_counts.lazySet(MAX, Math.min(max, later._counts.get(MAX)));
+	}
+
+	/**
+	 * Returns the bucket a value is counted in.
+	 */
+	private static int bucket(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * Returns the largest value counted in a bucket.
+	 */
+	private static long highestIn(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+		long sub = bucket % SUB_BUCKETS;
+		return ((SUB_BUCKETS + sub + 1) << (exponent - SUB_BITS)) - 1;
+	}
+
+	/**
+	 * Returns the number of values counted.
+	 */
+	public long getCount() {
+		return _counts.get(COUNT);
+	}
+
+	/**
+	 * Returns the largest value counted, or 0 if there is none.
+	 */
+	public long getMax() {
+		return _counts.get(MAX);
+	}
+
+	/**
+	 * Returns the mean of the values counted, or 0 if there is none.
+	 */
+	public double getMean() {
+		long count = this.getCount();
+		if (count == 0) {
+			return 0;
+		}
+		return _counts.get(TOTAL) / (double) count;
+	}
+
+	/**
+	 * Returns the value below or at which the given fraction of the values
+	 * counted fall, such as 0.99 for the 99th percentile, as the top of its
+	 * bucket but never more than the largest value. Returns 0 if nothing has
+	 * been counted.
+	 */
+	public long getPercentile(double fraction) {
+		long count = this.getCount();
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(fraction * count));
+		long seen = 0;
+		for (int bucket = 0; bucket < BUCKETS; bucket++) {
+			seen = seen + _counts.get(bucket);
+			if (seen >= rank) {
+				return Math.min(Histogram.highestIn(bucket), this.getMax());
+			}
+		}
+		return this.getMax();
+	}
+}
@@ -0,0 +1,207 @@
+package Pacman;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency Histograms for every Phase of a tick and for drawing, and a
+ * Histogram of the bytes the simulation thread allocates per tick, as counted
+ * by the JVM's ThreadMXBean. A Simulation only times itself while it has an
+ * Instrumentation set, so when none is set the cost is one null check per
+ * phase. The Histograms can be read at any time from any thread, and can also
+ * be appended to a local file periodically by a daemon thread of their own, so
+ * that writing them never holds up a tick.
+ *
+ * It is also an EventListener of the Simulation it is set on, counting every
+ * EventType and every event dropped from a full EventLog.
+ *
+ * Each Histogram has a single writer: the simulation thread records every
+ * phase of the tick and the events, and the JavaFX Application Thread records
+ * drawing.
+ */
+public class Instrumentation implements EventListener {
+	private static final Phase[] PHASES = Phase.values();
+	private static final EventType[] TYPES = EventType.values();
+	private static final int DROPPED = TYPES.length;
+
+	private Histogram[] _latencies;
+	private Histogram _allocations;
+	private AtomicLongArray _eventCounts;
+	private com.sun.management.ThreadMXBean _threads;
+	private long _tickStartBytes;
+	private ScheduledExecutorService _dumper;
+
+	/**
+	 * Makes empty Histograms. Allocations are only counted on JVMs whose
+	 * ThreadMXBean can count them.
+	 */
+	public Instrumentation() {
+		_latencies = new Histogram[PHASES.length];
+		for (int i = 0; i < PHASES.length; i++) {
+			_latencies[i] = new Histogram();
+		}
+		_allocations = new Histogram();
+		_eventCounts = new AtomicLongArray(TYPES.length + 1);
+		java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+			_threads = (com.sun.management.ThreadMXBean) threads;
+			_threads.setThreadAllocatedMemoryEnabled(true);
+		}
+	}
+
+	/**
+	 * Returns the time a phase starts at, to be passed to end.
+	 */
+	public long begin() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Records the time since start as the latency of the phase.
+	 */
+	public void end(Phase phase, long start) {
+		_latencies[phase.ordinal()].record(System.nanoTime() - start);
+	}
+
+	/**
+	 * Notes the bytes the calling thread has allocated so far and returns the
+	 * time the tick starts at. Called by the simulation thread.
+	 */
+	public long beginTick() {
+		if (_threads != null) {
+			_tickStartBytes = _threads.getCurrentThreadAllocatedBytes();
+		}
+		return System.nanoTime();
+	}
+
+	/**
+	 * Records the tick's latency and the bytes the calling thread allocated
+	 * during it.
+	 */
+	public void endTick(long start) {
+		this.end(Phase.TICK, start);
+		if (_threads != null) {
+			_allocations.record(_threads.getCurrentThreadAllocatedBytes() - _tickStartBytes);
+		}
+	}
+
+	/**
+	 * Counts a tick's events by EventType, and those dropped from it.
+	 */
+	@Override
+	public void handle(Simulation simulation, EventLog events) {
+		for (int i = 0; i < events.getCount(); i++) {
+			int type = events.getType(i).ordinal();
+			_eventCounts.lazySet(type, _eventCounts.get(type) + 1);
+		}
+		_eventCounts.lazySet(DROPPED, _eventCounts.get(DROPPED) + events.getDroppedCount());
+	}
+
+	/**
+	 * Returns the number of events of the given type counted so far.
+	 */
+	public long getEventCount(EventType type) {
+		return _eventCounts.get(type.ordinal());
+	}
+
+	/**
+	 * Returns the number of events dropped from a full EventLog so far.
+	 */
+	public long getDroppedEventCount() {
+		return _eventCounts.get(DROPPED);
+	}
+
+	/**
+	 * Returns the Histogram of the phase's latencies in nanoseconds.
+	 */
+	public Histogram getLatencies(Phase phase) {
+		return _latencies[phase.ordinal()];
+	}
+
+	/**
+	 * Returns the Histogram of bytes allocated per tick, which stays empty if
+	 * the JVM cannot count them.
+	 */
+	public Histogram getAllocations() {
+		return _allocations;
+	}
+
+	/**
+	 * Returns one line per phase with its count and its 50th percentile, 99th
+	 * percentile, and largest latency in microseconds, a line for the bytes
+	 * allocated per tick, and a line of event counts.
+	 */
+	public String report() {
+		StringBuilder report = new StringBuilder();
+		for (Phase phase : PHASES) {
+			Histogram latencies = _latencies[phase.ordinal()];
+			report.append(String.format("%-16s count=%d p50=%.1fus p99=%.1fus max=%.1fus%n", phase, latencies.getCount(),
+					latencies.getPercentile(0.5) / 1e3, latencies.getPercentile(0.99) / 1e3, latencies.getMax() / 1e3));
+		}
+		report.append(String.format("%-16s count=%d p50=%dB p99=%dB max=%dB mean=%.1fB%n", "ALLOCATION/TICK",
+				_allocations.getCount(), _allocations.getPercentile(0.5), _allocations.getPercentile(0.99),
+				_allocations.getMax(), _allocations.getMean()));
+		report.append(String.format("%-16s", "EVENTS"));
+		for (EventType type : TYPES) {
+			report.append(' ').append(type).append('=').append(_eventCounts.get(type.ordinal()));
+		}
+		report.append(" DROPPED=").append(this.getDroppedEventCount()).append(System.lineSeparator());
+		return report.toString();
+	}
+
+	/**
+	 * Appends the report, headed by the time, to the file at the given path
+	 * every periodMillis milliseconds on a daemon thread, until stopDumping is
+	 * called. A failed write is reported and the next one tried anyway.
+	 */
+	public void startDumping(Path path, long periodMillis) {
+		this.stopDumping();
+		_dumper = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "instrumentation");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		_dumper.scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				Instrumentation.this.dump(path);
+			}
+		}, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Appends the report, headed by the time, to the file at the given path.
+	 */
+	public void dump(Path path) {
+		String text = "# " + java.time.Instant.now() + System.lineSeparator() + this.report();
+		try {
+			Files.write(path, text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+					StandardOpenOption.APPEND);
+		} catch (IOException e) {
+			System.err.println("Instrumentation dump failed: " + e);
+		}
+	}
+
+	/**
+	 * Stops appending the report periodically, if it was being appended.
+	 */
+	public void stopDumping() {
+		if (_dumper != null) {
+			_dumper.shutdown();
+			_dumper = null;
+		}
+	}
+}
@@ -0,0 +1,278 @@
+package Pacman;
+
+import java.util.Arrays;
+
+/**
+ * The graph of junctions and corridors of a fixed board. Nodes are the cells
+ * with three or more exits, where a Ghost can actually choose which way to go,
+ * and the dead ends that corridors may stop at. Every other free cell lies in a
+ * corridor between two nodes, and the tunnel is simply one more corridor since
+ * the Maze already joins its ends. Each edge is stored with the node it leads
+ * to and its length in steps.
+ * Ghosts chasing Pacman on boards too large for a NextHopTable search this
+ * graph rather than every square, so a search steps over whole corridors at
+ * once.
+ *
+ * For that search every node also stores its steps to a number of landmarks
+ * spread around the edge of the board. A node's steps to a landmark differ
+ * from another's by no more than the steps between them, so the landmarks
+ * bound how far apart any two nodes can be without searching between them.
+ *
+ * For movement, every free cell and every direction a Ghost may have arrived
+ * in also stores the one direction the Ghost can move in without reversing, or
+ * -1 if there is no such single direction and the Ghost has to decide. A Ghost
+ * in a corridor therefore follows it with a single Array read instead of a
+ * search.
+ */
+public class JunctionGraph {
+	private static final byte DECIDE = -1;
+	private static final int LANDMARK_COUNT = 16;
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private Maze _maze;
+	private int[] _nodeIndex;
+	private int[] _nodeCells;
+	private int[] _edgeEnds;
+	private int[] _edgeLengths;
+	private byte[] _corridorSteps;
+	private int[] _landmarkSteps;
+
+	/**
+	 * Finds the nodes by counting the exits of every free cell, walks every
+	 * corridor leaving every node until it reaches the next one, stores the
+	 * single non-reversing exit of every cell for every previous direction, and
+	 * counts the steps from every landmark to every node.
+	 */
+	public JunctionGraph(Maze maze) {
+		_maze = maze;
+		int cells = maze.getCells();
+		_nodeIndex = new int[cells];
+		Arrays.fill(_nodeIndex, -1);
+		_corridorSteps = new byte[cells * DIRECTIONS.length];
+		Arrays.fill(_corridorSteps, DECIDE);
+
+		int nodeCount = 0;
+		for (int cell = 0; cell < cells; cell++) {
+			if (maze.isWall(cell)) {
+				continue;
+			}
+			int exits = this.countExits(cell, null);
+			if (exits >= 3 || exits == 1) {
+				_nodeIndex[cell] = nodeCount;
+				nodeCount = nodeCount + 1;
+			}
+			for (Direction prevDir : DIRECTIONS) {
+				if (this.countExits(cell, prevDir.getOpposite()) == 1) {
+					_corridorSteps[cell * DIRECTIONS.length + prevDir.ordinal()] = (byte) this
+							.onlyExit(cell, prevDir.getOpposite()).ordinal();
+				}
+			}
+		}
+
+		_nodeCells = new int[nodeCount];
+		_edgeEnds = new int[nodeCount * DIRECTIONS.length];
+		_edgeLengths = new int[nodeCount * DIRECTIONS.length];
+		Arrays.fill(_edgeEnds, -1);
+		for (int cell = 0; cell < cells; cell++) {
+			if (_nodeIndex[cell] >= 0) {
+				_nodeCells[_nodeIndex[cell]] = cell;
+				for (Direction dir : DIRECTIONS) {
+					if (maze.canMove(cell, dir)) {
+						this.walkCorridor(_nodeIndex[cell] * DIRECTIONS.length + dir.ordinal(), cell, dir);
+					}
+				}
+			}
+		}
+		this.countLandmarkSteps();
+	}
+
+	/**
+	 * Counts the open neighbors of a cell, leaving out the given direction if it
+	 * is not null.
+	 */
+	private int countExits(int cell, Direction excluded) {
+		int exits = 0;
+		for (Direction dir : DIRECTIONS) {
+			if (dir != excluded && _maze.canMove(cell, dir)) {
+				exits = exits + 1;
+			}
+		}
+		return exits;
+	}
+
+	/**
+	 * Returns the first open direction out of a cell other than the excluded
+	 * one.
+	 */
+	private Direction onlyExit(int cell, Direction excluded) {
+		for (Direction dir : DIRECTIONS) {
+			if (dir != excluded && _maze.canMove(cell, dir)) {
+				return dir;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Follows the corridor leaving the node cell in the given direction, one
+	 * step at a time, until it reaches a node, and records that node and the
+	 * number of steps as the edge. Every
+	 * cell between two nodes has exactly two exits, so the way on is always the
+	 * one that does not lead back.
+	 */
+	private void walkCorridor(int edge, int start, Direction dir) {
+		int current = _maze.neighbor(start, dir);
+		int length = 1;
+		while (_nodeIndex[current] < 0 && length <= _maze.getCells()) {
+			dir = this.onlyExit(current, dir.getOpposite());
+			current = _maze.neighbor(current, dir);
+			length = length + 1;
+		}
+		_edgeEnds[edge] = _nodeIndex[current];
+		_edgeLengths[edge] = length;
+	}
+
+	/**
+	 * Counts the steps from each landmark to every node. The landmarks are
+	 * squares spread evenly around the edge of the board, clockwise from the top
+	 * left corner, so that between any two nodes some landmark lies roughly
+	 * behind one of them. Like a FlowField, the steps are counted outwards from
+	 * the squares of each connected part closest to the landmark, so every node
+	 * has steps to every landmark whatever part it is in.
+	 */
+	private void countLandmarkSteps() {
+		int rows = _maze.getRows();
+		int columns = _maze.getColumns();
+		int cells = _maze.getCells();
+		int perimeter = 2 * (rows - 1) + 2 * (columns - 1);
+		int[] steps = new int[cells];
+		int[] queue = new int[cells];
+		int[] neighbors = _maze.getNeighbors();
+		_landmarkSteps = new int[_nodeCells.length * LANDMARK_COUNT];
+		for (int i = 0; i < LANDMARK_COUNT; i++) {
+			int along = (int) ((long) i * perimeter / LANDMARK_COUNT);
+			int row;
+			int col;
+			if (along < columns - 1) {
+				row = 0;
+				col = along;
+			} else if (along < columns - 1 + rows - 1) {
+				row = along - (columns - 1);
+				col = columns - 1;
+			} else if (along < 2 * (columns - 1) + rows - 1) {
+				row = rows - 1;
+				col = columns - 1 - (along - (columns - 1 + rows - 1));
+			} else {
+				row = rows - 1 - (along - (2 * (columns - 1) + rows - 1));
+				col = 0;
+			}
+
+			Arrays.fill(steps, Integer.MAX_VALUE);
+			int tail = 0;
+			for (int part = 0; part < _maze.getPartCount(); part++) {
+				long closest = Long.MAX_VALUE;
+				for (int j = 0; j < _maze.getPartSize(part); j++) {
+					closest = Math.min(closest, this.distance(_maze.getPartCell(part, j), row, col));
+				}
+				for (int j = 0; j < _maze.getPartSize(part); j++) {
+					int cell = _maze.getPartCell(part, j);
+					if (this.distance(cell, row, col) == closest) {
+						steps[cell] = 0;
+						queue[tail++] = cell;
+					}
+				}
+			}
+			for (int head = 0; head < tail; head++) {
+				int current = queue[head];
+				for (int j = 0; j < DIRECTIONS.length; j++) {
+					int neighbor = neighbors[current * DIRECTIONS.length + j];
+					if (neighbor >= 0 && steps[neighbor] == Integer.MAX_VALUE) {
+						steps[neighbor] = steps[current] + 1;
+						queue[tail++] = neighbor;
+					}
+				}
+			}
+			for (int node = 0; node < _nodeCells.length; node++) {
+				_landmarkSteps[node * LANDMARK_COUNT + i] = steps[_nodeCells[node]];
+			}
+		}
+	}
+
+	/**
+	 * Returns the squared distance from the cell to the given square.
+	 */
+	private long distance(int cell, int row, int col) {
+		long rowDist = _maze.getRow(cell) - row;
+		long colDist = _maze.getCol(cell) - col;
+		return rowDist * rowDist + colDist * colDist;
+	}
+
+	/**
+	 * Returns the direction a Ghost on the cell that last moved in prevDir has
+	 * to take to follow its corridor, or null if it is on a node or otherwise
+	 * has more or fewer than one way on and must decide for itself.
+	 */
+	public Direction corridorStep(int cell, Direction prevDir) {
+		byte step = _corridorSteps[cell * DIRECTIONS.length + prevDir.ordinal()];
+		if (step == DECIDE) {
+			return null;
+		}
+		return DIRECTIONS[step];
+	}
+
+	/**
+	 * Returns the number of nodes.
+	 */
+	public int getNodeCount() {
+		return _nodeCells.length;
+	}
+
+	/**
+	 * Returns the cell of the ith node.
+	 */
+	public int getNodeCell(int i) {
+		return _nodeCells[i];
+	}
+
+	/**
+	 * Returns the index of the node on the cell, or -1 if the cell is not a
+	 * node.
+	 */
+	public int getNodeIndex(int cell) {
+		return _nodeIndex[cell];
+	}
+
+	/**
+	 * Returns the index of the node reached by following each corridor, or -1
+	 * where a wall is in the way, indexed by node index * 4 + the Direction
+	 * ordinal it leaves the node in, for searches to share. It must not be
+	 * changed.
+	 */
+	public int[] getEdgeEnds() {
+		return _edgeEnds;
+	}
+
+	/**
+	 * Returns the number of steps along each corridor, indexed like the edge
+	 * ends, for searches to share. It must not be changed.
+	 */
+	public int[] getEdgeLengths() {
+		return _edgeLengths;
+	}
+
+	/**
+	 * Returns the number of landmarks.
+	 */
+	public int getLandmarkCount() {
+		return LANDMARK_COUNT;
+	}
+
+	/**
+	 * Returns the steps from every landmark to every node, indexed by node
+	 * index * the landmark count + landmark, for searches to share. It must not
+	 * be changed.
+	 */
+	public int[] getLandmarkSteps() {
+		return _landmarkSteps;
+	}
+}
@@ -0,0 +1,44 @@
+package Pacman;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The Agent the player controls with the arrow keys. Key presses arrive on the
+ * JavaFX Application Thread and are put on a lock-free queue; the simulation
+ * thread drains the queue before every tick.
+ */
+public class KeyboardAgent implements Agent {
+	private ConcurrentLinkedQueue<Direction> _presses;
+
+	/**
+	 * Instantiates the empty queue of key presses.
+	 */
+	public KeyboardAgent() {
+		_presses = new ConcurrentLinkedQueue<Direction>();
+	}
+
+	/**
+	 * Queues a key press. Called by the JavaFX Application Thread.
+	 */
+	public void press(Direction direction) {
+		_presses.offer(direction);
+	}
+
+	/**
+	 * Takes every queued press in order and returns the last one Pacman can turn
+	 * to from where he is, or null if there was none. Called by the simulation
+	 * thread.
+	 */
+	@Override
+	public Direction chooseDirection(Simulation simulation) {
+		Direction chosen = null;
+		Direction pressed = _presses.poll();
+		while (pressed != null) {
+			if (simulation.canMove(simulation.getPacCell(), pressed)) {
+				chosen = pressed;
+			}
+			pressed = _presses.poll();
+		}
+		return chosen;
+	}
+}
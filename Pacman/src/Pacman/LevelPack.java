@@ -0,0 +1,343 @@
+package Pacman;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntFunction;
+
+/**
+ * A file of many levels in a compact binary format, read through a memory
+ * mapping so that opening a pack of thousands of levels reads nothing but its
+ * header, and loading a level creates no object per square.
+ *
+ * All numbers are big-endian. The pack starts with the magic number, the
+ * format version, the number of levels, and the offset of every level from the
+ * start of the file. Each level is its rows and columns, Pacman's starting
+ * cell, the cell in the middle of the Ghost pen, the number of portals and
+ * each portal as a cell, a direction ordinal, and the cell it leads to, a
+ * flags byte, and one byte per square saying whether it is free, a wall, a
+ * dot, or an energizer. If the flags say so, the level's NextHopTable entries
+ * follow, preceded by their length, so that loading the level skips building
+ * the table, by far the costliest part of a Maze. The four corner FlowFields
+ * and the JunctionGraph are still built, each in one pass over the board.
+ *
+ * Packs larger than a single mapping are mapped in pieces of 1 GiB, and a
+ * level may straddle two of them. Levels are read with absolute gets, so one
+ * pack can be shared by games on any number of threads.
+ */
+public class LevelPack {
+	private static final int MAGIC = 0x50414B4C; // "PAKL"
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTES = 12;
+	private static final int SEGMENT_SHIFT = 30;
+	private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+	private static final byte FREE = 0;
+	private static final byte WALL = 1;
+	private static final byte DOT = 2;
+	private static final byte ENERGIZER = 3;
+	private static final byte HAS_NEXT_HOPS = 1;
+
+	private MappedByteBuffer[] _segments;
+	private long _size;
+	private int _levelCount;
+
+	/**
+	 * Maps the whole file read-only and checks its header. The mapping stays
+	 * valid after the file is closed.
+	 */
+	public LevelPack(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			_size = size;
+			_segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+			for (int i = 0; i < _segments.length; i++) {
+				long start = (long) i << SEGMENT_SHIFT;
+				_segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+						Math.min(SEGMENT_MASK + 1, size - start));
+			}
+			if (size < HEADER_BYTES || this.getInt(0) != MAGIC) {
+				throw new IOException("Not a level pack: " + path);
+			}
+			if (this.getInt(4) != VERSION) {
+				throw new IOException("Unsupported level pack version " + this.getInt(4) + ": " + path);
+			}
+			_levelCount = this.getInt(8);
+			if (_levelCount < 0 || HEADER_BYTES + 8L * _levelCount > size) {
+				throw new IOException("The level pack's header is cut off: " + path);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of levels in the pack.
+	 */
+	public int getLevelCount() {
+		return _levelCount;
+	}
+
+	/**
+	 * Reads the ith level straight out of the mapping into BitBoards and builds
+	 * its Maze. The NextHopTable entries are copied in if the pack has them;
+	 * otherwise the Maze builds them itself if the board is small enough. Throws
+	 * an IOException if the level is cut off by the end of the file, its
+	 * starting cells or portals are not free squares on its board, or its
+	 * entries are not those of a table of its size, rather than letting a
+	 * damaged pack give wrong moves or fail in the middle of a game.
+	 */
+	public Maze getLevel(int i) throws IOException {
+		if (i < 0 || i >= _levelCount) {
+			throw new IllegalArgumentException("Level " + i + " is not in a pack of " + _levelCount + " levels");
+		}
+		long position = this.getLong(HEADER_BYTES + 8L * i);
+		this.require(position, 20, i);
+		int rows = this.getInt(position);
+		int columns = this.getInt(position + 4);
+		int pacStart = this.getInt(position + 8);
+		int ghostStart = this.getInt(position + 12);
+		int portalCount = this.getInt(position + 16);
+		if (rows <= 0 || columns <= 0 || portalCount < 0 || (long) rows * columns > Integer.MAX_VALUE) {
+			throw new IOException("Level " + i + " has a damaged header");
+		}
+		int cells = rows * columns;
+		this.require(position, 20 + 12L * portalCount + 1 + cells, i);
+		int[] portals = new int[portalCount * 3];
+		position = position + 20;
+		for (int j = 0; j < portals.length; j++) {
+			portals[j] = this.getInt(position);
+			position = position + 4;
+		}
+		byte flags = this.getByte(position);
+		position = position + 1;
+
+		BitBoard walls = new BitBoard(rows, columns);
+		BitBoard dots = new BitBoard(rows, columns);
+		BitBoard energizers = new BitBoard(rows, columns);
+		byte[] squares = new byte[cells];
+		this.read(position, squares);
+		for (int cell = 0; cell < cells; cell++) {
+			switch (squares[cell]) {
+			case WALL:
+				walls.set(cell);
+				break;
+			case DOT:
+				dots.set(cell);
+				break;
+			case ENERGIZER:
+				energizers.set(cell);
+				break;
+			default:
+				break;
+			}
+		}
+		position = position + cells;
+		LevelPack.checkFree(walls, pacStart, i, "Pacman's start");
+		LevelPack.checkFree(walls, ghostStart, i, "The Ghosts' start");
+		for (int j = 0; j < portals.length; j += 3) {
+			LevelPack.checkFree(walls, portals[j], i, "A portal's start");
+			LevelPack.checkFree(walls, portals[j + 2], i, "A portal's end");
+			if (portals[j + 1] < 0 || portals[j + 1] >= Direction.values().length) {
+				throw new IOException("Level " + i + " has a portal with no direction " + portals[j + 1]);
+			}
+		}
+
+		byte[] nextHops = null;
+		if ((flags & HAS_NEXT_HOPS) != 0) {
+			this.require(position, 4, i);
+			int length = this.getInt(position);
+			if (length != NextHopTable.entryCount(cells)) {
+				throw new IOException("Level " + i + " stores " + length + " NextHopTable entries, but a board of "
+						+ cells + " squares has " + NextHopTable.entryCount(cells));
+			}
+			this.require(position + 4, length, i);
+			nextHops = new byte[length];
+			this.read(position + 4, nextHops);
+		}
+		return new Maze(walls, dots, energizers, pacStart, ghostStart, portals, nextHops);
+	}
+
+	/**
+	 * Throws an IOException unless the given number of bytes from the position
+	 * lie within the file.
+	 */
+	private void require(long position, long bytes, int level) throws IOException {
+		if (position < HEADER_BYTES || bytes < 0 || position + bytes > _size) {
+			throw new IOException("Level " + level + " is cut off by the end of the level pack");
+		}
+	}
+
+	/**
+	 * Throws an IOException unless the cell named in the level's header is a
+	 * free square on its board.
+	 */
+	private static void checkFree(BitBoard walls, int cell, int level, String name) throws IOException {
+		if (cell < 0 || cell >= walls.getRows() * walls.getColumns() || walls.get(cell)) {
+			throw new IOException("Level " + level + " is damaged: " + name + " " + cell + " is not a free square");
+		}
+	}
+
+	/**
+	 * Returns the byte at the given position in the file.
+	 */
+	private byte getByte(long position) {
+		return _segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+	}
+
+	/**
+	 * Returns the int at the given position in the file, which may straddle two
+	 * segments.
+	 */
+	private int getInt(long position) {
+		int value = 0;
+		for (int i = 0; i < 4; i++) {
+			value = (value << 8) | (this.getByte(position + i) & 0xFF);
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the long at the given position in the file.
+	 */
+	private long getLong(long position) {
+		return ((long) this.getInt(position) << 32) | (this.getInt(position + 4) & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Copies bytes from the given position in the file into the Array, a
+	 * segment at a time.
+	 */
+	private void read(long position, byte[] bytes) {
+		int done = 0;
+		while (done < bytes.length) {
+			ByteBuffer segment = _segments[(int) ((position + done) >>> SEGMENT_SHIFT)].duplicate();
+			int offset = (int) ((position + done) & SEGMENT_MASK);
+			int length = Math.min(bytes.length - done, segment.capacity() - offset);
+			segment.position(offset);
+			segment.get(bytes, done, length);
+			done = done + length;
+		}
+	}
+
+	/**
+	 * Writes count Mazes to a new pack at the given path, asking levels for each
+	 * in turn so that only one has to be held at a time, with the entries of
+	 * their NextHopTables if asked to and if they have one. The levels are
+	 * written after the space for the header, which is filled in once every
+	 * offset is known. The dots and energizers written are those each Maze
+	 * starts with.
+	 */
+	public static void write(Path path, int count, IntFunction<Maze> levels, boolean withNextHops) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + 8 * count);
+			header.putInt(MAGIC);
+			header.putInt(VERSION);
+			header.putInt(count);
+			long position = header.capacity();
+			channel.position(position);
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+			for (int i = 0; i < count; i++) {
+				Maze maze = levels.apply(i);
+				header.putLong(position);
+				position = position + LevelPack.levelBytes(maze, withNextHops);
+				LevelPack.writeLevel(out, maze, withNextHops);
+			}
+			out.flush();
+			header.flip();
+			while (header.hasRemaining()) {
+				channel.write(header, header.position());
+			}
+		}
+	}
+
+	/**
+	 * Writes one Maze in the level format described above.
+	 */
+	private static void writeLevel(DataOutputStream out, Maze maze, boolean withNextHops) throws IOException {
+		out.writeInt(maze.getRows());
+		out.writeInt(maze.getColumns());
+		out.writeInt(maze.getPacStart());
+		out.writeInt(maze.getGhostStart());
+		int[] portals = maze.getPortals();
+		out.writeInt(portals.length / 3);
+		for (int portal : portals) {
+			out.writeInt(portal);
+		}
+		boolean nextHops = withNextHops && maze.getNextHops() != null;
+		out.writeByte(nextHops ? HAS_NEXT_HOPS : 0);
+		for (int cell = 0; cell < maze.getCells(); cell++) {
+			out.writeByte(LevelPack.cellType(maze, cell));
+		}
+		if (nextHops) {
+			out.writeInt(maze.getNextHops().getHops().length);
+			out.write(maze.getNextHops().getHops());
+		}
+	}
+
+	/**
+	 * Returns the number of bytes the Maze takes up in a pack.
+	 */
+	private static long levelBytes(Maze maze, boolean withNextHops) {
+		long bytes = 20 + 4L * maze.getPortals().length + 1 + maze.getCells();
+		if (withNextHops && maze.getNextHops() != null) {
+			bytes = bytes + 4 + maze.getNextHops().getHops().length;
+		}
+		return bytes;
+	}
+
+	/**
+	 * Returns the byte stored for a square of the Maze.
+	 */
+	private static byte cellType(Maze maze, int cell) {
+		if (maze.isWall(cell)) {
+			return WALL;
+		} else if (maze.getDots().get(cell)) {
+			return DOT;
+		} else if (maze.getEnergizers().get(cell)) {
+			return ENERGIZER;
+		}
+		return FREE;
+	}
+
+	/**
+	 * Writes a pack of Mazes generated by MazeGenerator, then opens it and times
+	 * loading every level. Takes the path of the pack, the number of levels, their
+	 * rows and columns, the seed of the first level, and whether to store the
+	 * NextHopTables, in that order; all but the path are optional.
+	 */
+	public static void main(String[] argv) throws IOException {
+		if (argv.length < 1 || argv.length > 6) {
+			System.err.println("Usage: LevelPack <pack file> [levels] [rows] [columns] [seed] [store next hops]");
+			return;
+		}
+		Path path = Paths.get(argv[0]);
+		int count = argv.length > 1 ? Integer.parseInt(argv[1]) : 1000;
+		int rows = argv.length > 2 ? Integer.parseInt(argv[2]) : 23;
+		int columns = argv.length > 3 ? Integer.parseInt(argv[3]) : 23;
+		long seed = argv.length > 4 ? Long.parseLong(argv[4]) : 0;
+		boolean withNextHops = argv.length > 5 && Boolean.parseBoolean(argv[5]);
+		LevelPack.write(path, count, new IntFunction<Maze>() {
+			@Override
+			public Maze apply(int i) {
+				return MazeGenerator.generate(rows, columns, seed + i);
+			}
+		}, withNextHops);
+
+		LevelPack pack = new LevelPack(path);
+		long start = System.nanoTime();
+		long dots = 0;
+		for (int i = 0; i < pack.getLevelCount(); i++) {
+			dots = dots + pack.getLevel(i).getDotEnergCount();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.println(String.format("levels=%d bytes=%d dots=%d", pack.getLevelCount(), Files.size(path), dots));
+		System.out.println(String.format("%.3f s, %.1f us/level", seconds, seconds * 1e6 / pack.getLevelCount()));
+	}
+}
@@ -0,0 +1,459 @@
+package Pacman;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cs015.fnl.PacmanSupport.BoardLocation;
+
+/**
+ * The fixed layout of a level: which squares are walls, where the dots and
+ * energizers start, and where Pacman and the Ghosts begin. A Maze never
+ * changes once it is made and holds no JavaFX nodes, so any number of games
+ * can be simulated on one instance. The precomputed Ghost moves, the graph of
+ * junctions and corridors, and the flow fields towards fixed targets for the
+ * layout are kept here for the same reason. Its dimensions and tunnels come
+ * from the layout itself, so a Maze may be of any size.
+ */
+public class Maze {
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private int _rows;
+	private int _columns;
+	private BitBoard _walls;
+	private BitBoard _dots;
+	private BitBoard _energizers;
+	private int[] _cellRows;
+	private int[] _cellCols;
+	private int[] _neighbors;
+	private int _dotEnergCount;
+	private int _pacStart;
+	private int _ghostStart;
+	private int[] _portals;
+	private int[] _parts;
+	private int[] _partStarts;
+	private int[] _partCells;
+	private NextHopTable _nextHops;
+	private JunctionGraph _junctions;
+	private ConcurrentHashMap<Long, FlowField> _flowFields;
+
+	/**
+	 * Uses a double for-loop of row-major to read the support map's enums into
+	 * BitBoards of walls, dots, and energizers, records the starting squares of
+	 * Pacman and the Ghosts, and precomputes the tables of cells.
+	 */
+	public Maze(BoardLocation[][] layout) {
+		_rows = layout.length;
+		_columns = layout[0].length;
+		_walls = new BitBoard(_rows, _columns);
+		_dots = new BitBoard(_rows, _columns);
+		_energizers = new BitBoard(_rows, _columns);
+		_dotEnergCount = 0;
+		for (int row = 0; row < _rows; row++) {
+			for (int col = 0; col < _columns; col++) {
+				switch (layout[row][col]) {
+				case WALL:
+					_walls.set(_walls.square(row, col));
+					break;
+				case DOT:
+					_dots.set(_dots.square(row, col));
+					_dotEnergCount = _dotEnergCount + 1;
+					break;
+				case ENERGIZER:
+					_energizers.set(_energizers.square(row, col));
+					_dotEnergCount = _dotEnergCount + 1;
+					break;
+				case PACMAN_START_LOCATION:
+					_pacStart = row * _columns + col;
+					break;
+				case GHOST_START_LOCATION:
+					_ghostStart = row * _columns + col;
+					break;
+				default:
+					break;
+				}
+			}
+		}
+		_portals = new int[0];
+		this.setup(null);
+	}
+
+	/**
+	 * Takes in a layout of any size already packed into BitBoards, such as a
+	 * generated level, along with the starting cells of Pacman and the Ghosts,
+	 * and precomputes the tables of cells. The dots and energizers to eat are
+	 * counted from their BitBoards.
+	 */
+	public Maze(BitBoard walls, BitBoard dots, BitBoard energizers, int pacStart, int ghostStart) {
+		this(walls, dots, energizers, pacStart, ghostStart, new int[0], null);
+	}
+
+	/**
+	 * Takes in a layout as above along with its portals and, optionally, the
+	 * entries of its NextHopTable, such as a level loaded from a LevelPack. The
+	 * portals are triples of a cell, the ordinal of a direction, and another
+	 * cell: moving off the first cell in that direction leads to the second, and
+	 * moving off the second in the opposite direction leads back. The entries
+	 * are used as they are instead of being searched for, or a NextHopTable is
+	 * built as usual if they are null.
+	 */
+	public Maze(BitBoard walls, BitBoard dots, BitBoard energizers, int pacStart, int ghostStart, int[] portals,
+			byte[] nextHops) {
+		_rows = walls.getRows();
+		_columns = walls.getColumns();
+		_walls = walls;
+		_dots = dots;
+		_energizers = energizers;
+		_dotEnergCount = dots.count() + energizers.count();
+		_pacStart = pacStart;
+		_ghostStart = ghostStart;
+		_portals = portals;
+		this.setup(nextHops);
+	}
+
+	/**
+	 * Precomputes everything derived from the layout, including the
+	 * JunctionGraph and the FlowFields towards the four corners, which Ghosts
+	 * scatter to. The NextHopTable holds an answer for every pair of cells, so
+	 * unless its entries are given it is only built for boards of up to
+	 * Constants.NEXT_HOP_MAX_CELLS cells; on larger boards Ghosts search instead.
+	 */
+	private void setup(byte[] nextHops) {
+		this.setupCells();
+		this.setupParts();
+		_junctions = new JunctionGraph(this);
+		_flowFields = new ConcurrentHashMap<Long, FlowField>();
+		this.flowField(0, 0);
+		this.flowField(0, _columns - 1);
+		this.flowField(_rows - 1, 0);
+		this.flowField(_rows - 1, _columns - 1);
+		if (nextHops != null) {
+			_nextHops = new NextHopTable(this, nextHops);
+		} else if (this.getCells() <= Constants.NEXT_HOP_MAX_CELLS) {
+			_nextHops = new NextHopTable(this);
+		}
+	}
+
+	/**
+	 * Stores the row and column of every cell and, for every free cell, the cell
+	 * reached by moving in each direction, indexed by cell * 4 + Direction
+	 * ordinal. The free neighbors come straight from the BitBoard of free
+	 * squares. Tunnels are then read from the layout: wherever both ends of a row
+	 * are free, moving off one end leads to the other, and likewise for both
+	 * ends of a column. The level's own portals are joined last.
+	 */
+	private void setupCells() {
+		int cells = _rows * _columns;
+		BitBoard free = _walls.inverted();
+		_cellRows = new int[cells];
+		_cellCols = new int[cells];
+		_neighbors = new int[cells * DIRECTIONS.length];
+		Arrays.fill(_neighbors, -1);
+		int[] offsets = new int[DIRECTIONS.length];
+		offsets[Direction.LEFT.ordinal()] = -1;
+		offsets[Direction.RIGHT.ordinal()] = 1;
+		offsets[Direction.UP.ordinal()] = -_columns;
+		offsets[Direction.DOWN.ordinal()] = _columns;
+		for (int cell = 0; cell < cells; cell++) {
+			_cellRows[cell] = cell / _columns;
+			_cellCols[cell] = cell % _columns;
+			if (!free.get(cell)) {
+				continue;
+			}
+			int mask = free.neighborMask(cell);
+			for (Direction dir : DIRECTIONS) {
+				if ((mask & (1 << dir.ordinal())) != 0) {
+					_neighbors[cell * DIRECTIONS.length + dir.ordinal()] = cell + offsets[dir.ordinal()];
+				}
+			}
+		}
+		for (int row = 0; row < _rows && _columns > 1; row++) {
+			this.joinEnds(free, this.cell(row, 0), this.cell(row, _columns - 1), Direction.LEFT);
+		}
+		for (int col = 0; col < _columns && _rows > 1; col++) {
+			this.joinEnds(free, this.cell(0, col), this.cell(_rows - 1, col), Direction.UP);
+		}
+		for (int i = 0; i < _portals.length; i += 3) {
+			this.joinEnds(free, _portals[i], _portals[i + 2], DIRECTIONS[_portals[i + 1]]);
+		}
+	}
+
+	/**
+	 * Joins two free cells, so that moving off the first in the given direction
+	 * leads to the second and moving off the second the opposite way leads back.
+	 * Both ways must be blocked to begin with, so that every way between two
+	 * cells can be taken in both directions, which searches rely on.
+	 */
+	private void joinEnds(BitBoard free, int start, int end, Direction dir) {
+		int startIndex = start * DIRECTIONS.length + dir.ordinal();
+		int endIndex = end * DIRECTIONS.length + dir.getOpposite().ordinal();
+		if (free.get(start) && free.get(end) && _neighbors[startIndex] < 0 && _neighbors[endIndex] < 0) {
+			_neighbors[startIndex] = end;
+			_neighbors[endIndex] = start;
+		}
+	}
+
+	/**
+	 * Numbers the connected parts of the board by flooding from every free cell
+	 * not yet numbered, and lists the cells of each part together, so that
+	 * searches can tell which squares a Ghost can reach at all.
+	 */
+	private void setupParts() {
+		int cells = this.getCells();
+		_parts = new int[cells];
+		Arrays.fill(_parts, -1);
+		_partCells = new int[cells];
+		int[] starts = new int[cells + 1];
+		int partCount = 0;
+		int tail = 0;
+		for (int start = 0; start < cells; start++) {
+			if (_walls.get(start) || _parts[start] >= 0) {
+				continue;
+			}
+			starts[partCount] = tail;
+			_parts[start] = partCount;
+			_partCells[tail++] = start;
+			for (int head = starts[partCount]; head < tail; head++) {
+				for (Direction dir : DIRECTIONS) {
+					int neighbor = this.neighbor(_partCells[head], dir);
+					if (neighbor >= 0 && _parts[neighbor] < 0) {
+						_parts[neighbor] = partCount;
+						_partCells[tail++] = neighbor;
+					}
+				}
+			}
+			partCount = partCount + 1;
+		}
+		starts[partCount] = tail;
+		_partStarts = Arrays.copyOf(starts, partCount + 1);
+	}
+
+	/**
+	 * Returns the number of rows.
+	 */
+	public int getRows() {
+		return _rows;
+	}
+
+	/**
+	 * Returns the number of columns.
+	 */
+	public int getColumns() {
+		return _columns;
+	}
+
+	/**
+	 * Returns the BitBoard of walls, to be used for searches. It must not be
+	 * changed.
+	 */
+	public BitBoard getWalls() {
+		return _walls;
+	}
+
+	/**
+	 * Returns the BitBoard of starting dots, to be copied by each game. It must
+	 * not be changed.
+	 */
+	public BitBoard getDots() {
+		return _dots;
+	}
+
+	/**
+	 * Returns the BitBoard of starting energizers, to be copied by each game. It
+	 * must not be changed.
+	 */
+	public BitBoard getEnergizers() {
+		return _energizers;
+	}
+
+	/**
+	 * Checks whether the square is a wall.
+	 */
+	public boolean isWall(int row, int col) {
+		return _walls.get(row, col);
+	}
+
+	/**
+	 * Checks whether the square starts with a dot.
+	 */
+	public boolean startsWithDot(int row, int col) {
+		return _dots.get(row, col);
+	}
+
+	/**
+	 * Checks whether the square starts with an energizer.
+	 */
+	public boolean startsWithEnergizer(int row, int col) {
+		return _energizers.get(row, col);
+	}
+
+	/**
+	 * Returns the number of cells.
+	 */
+	public int getCells() {
+		return _rows * _columns;
+	}
+
+	/**
+	 * Returns the cell index of the square at the given row and column.
+	 */
+	public int cell(int row, int col) {
+		return row * _columns + col;
+	}
+
+	/**
+	 * Returns the row of the cell.
+	 */
+	public int getRow(int cell) {
+		return _cellRows[cell];
+	}
+
+	/**
+	 * Returns the column of the cell.
+	 */
+	public int getCol(int cell) {
+		return _cellCols[cell];
+	}
+
+	/**
+	 * Checks whether the cell is a wall.
+	 */
+	public boolean isWall(int cell) {
+		return _walls.get(cell);
+	}
+
+	/**
+	 * Returns the cell one step away from the given cell in the given direction,
+	 * wrapping around through a tunnel at the edge of the board, or -1 if a wall
+	 * or the edge of the board is in the way.
+	 */
+	public int neighbor(int cell, Direction dir) {
+		return _neighbors[cell * DIRECTIONS.length + dir.ordinal()];
+	}
+
+	/**
+	 * Checks whether something on the given cell can move one step in the given
+	 * direction.
+	 */
+	public boolean canMove(int cell, Direction dir) {
+		return _neighbors[cell * DIRECTIONS.length + dir.ordinal()] >= 0;
+	}
+
+	/**
+	 * Returns the table of neighbors, indexed by cell * 4 + Direction ordinal,
+	 * for searches to share. It must not be changed.
+	 */
+	public int[] getNeighbors() {
+		return _neighbors;
+	}
+
+	/**
+	 * Returns the number of the connected part of the board the cell is in, or
+	 * -1 for walls.
+	 */
+	public int getPart(int cell) {
+		return _parts[cell];
+	}
+
+	/**
+	 * Returns the number of connected parts of the board.
+	 */
+	public int getPartCount() {
+		return _partStarts.length - 1;
+	}
+
+	/**
+	 * Returns the number of cells in the connected part.
+	 */
+	public int getPartSize(int part) {
+		return _partStarts[part + 1] - _partStarts[part];
+	}
+
+	/**
+	 * Returns the ith cell of the connected part.
+	 */
+	public int getPartCell(int part, int i) {
+		return _partCells[_partStarts[part] + i];
+	}
+
+	/**
+	 * Returns the level's portals as triples of a cell, a direction ordinal,
+	 * and the cell moving off the first that way leads to. It must not be
+	 * changed.
+	 */
+	public int[] getPortals() {
+		return _portals;
+	}
+
+	/**
+	 * Checks whether the level has portals besides the tunnels at the edges of
+	 * the board, which may join squares that are nowhere near each other.
+	 */
+	public boolean hasPortals() {
+		return _portals.length > 0;
+	}
+
+	/**
+	 * Returns how many dots and energizers must be eaten to win.
+	 */
+	public int getDotEnergCount() {
+		return _dotEnergCount;
+	}
+
+	/**
+	 * Returns Pacman's starting cell.
+	 */
+	public int getPacStart() {
+		return _pacStart;
+	}
+
+	/**
+	 * Returns the cell of the GHOST_START_LOCATION square in the middle of the
+	 * pen.
+	 */
+	public int getGhostStart() {
+		return _ghostStart;
+	}
+
+	/**
+	 * Returns the cell two rows above the middle of the pen, where Blinky starts
+	 * and where Ghosts released from the pen appear.
+	 */
+	public int getPenExit() {
+		return _ghostStart - 2 * _columns;
+	}
+
+	/**
+	 * Returns the table of precomputed Ghost moves for this layout, or null if
+	 * the board is too large for one.
+	 */
+	public NextHopTable getNextHops() {
+		return _nextHops;
+	}
+
+	/**
+	 * Returns the graph of junctions and corridors for this layout.
+	 */
+	public JunctionGraph getJunctions() {
+		return _junctions;
+	}
+
+	/**
+	 * Returns the FlowField towards the target square, which may lie off the
+	 * board, building it the first time the target is asked for. Fields are kept
+	 * for as long as the Maze, which never changes, so every Ghost of every game
+	 * on it shares them. Games running on other threads may ask at the same time;
+	 * should two build the same field, only the first one stored is kept.
+	 */
+	public FlowField flowField(int targetRow, int targetCol) {
+		Long key = ((long) targetRow << 32) | (targetCol & 0xFFFFFFFFL);
+		FlowField field = _flowFields.get(key);
+		if (field == null) {
+			field = new FlowField(this, targetRow, targetCol);
+			FlowField stored = _flowFields.putIfAbsent(key, field);
+			if (stored != null) {
+				field = stored;
+			}
+		}
+		return field;
+	}
+}
@@ -0,0 +1,236 @@
+package Pacman;
+
+/**
+ * Generates Mazes of any size from a seed, for running headless games on
+ * boards far larger than the support map. A maze of corridors is carved
+ * between the squares on odd rows and columns, around the squares kept for a
+ * closed pen for the Ghosts in the middle, and every dead end is then opened
+ * into a neighboring corridor, so that like the support map it is full of
+ * loops. Tunnels are opened at both ends of every sixteenth corridor row and
+ * the pen is walled off with its exit two rows above it. A board too narrow
+ * for the maze to pass the pen on either side, which would leave squares
+ * that cannot be reached from the pen's exit, cannot be generated. Every
+ * other free square starts with a dot, except for Pacman's start and the four
+ * squares closest to the corners, which start with energizers.
+ */
+public class MazeGenerator {
+	private static final Direction[] DIRECTIONS = Direction.values();
+	private static final int MIN_SIZE = 7;
+	private static final int TUNNEL_SPACING = 16;
+
+	/**
+	 * Generates the Maze with the given number of rows and columns from the seed.
+	 * The same seed always gives the same Maze. Throws IllegalArgumentException
+	 * if the board is too small, or if the pen would cut the maze in two.
+	 */
+	public static Maze generate(int rows, int columns, long seed) {
+		if (rows < MIN_SIZE || columns < MIN_SIZE) {
+			throw new IllegalArgumentException(
+					"Generated mazes must be at least " + MIN_SIZE + " by " + MIN_SIZE + ": given " + rows + " by " + columns);
+		}
+		GameRandom random = new GameRandom(seed);
+		BitBoard walls = new BitBoard(rows, columns).inverted();
+		int penRow = (rows / 2) | 1;
+		int penCol = (columns / 2) | 1;
+
+		/*
+		 * The pen's squares count as already carved, so that no corridor is carved
+		 * through the pen only to be walled off with it, and are walled up again so
+		 * that no dead end is opened into them
+		 */
+		for (int col = penCol - 2; col <= Math.min(penCol + 2, columns - 2); col += 2) {
+			walls.clear(walls.square(penRow, col));
+		}
+		MazeGenerator.carve(walls, random);
+		for (int col = penCol - 2; col <= Math.min(penCol + 2, columns - 2); col += 2) {
+			walls.set(walls.square(penRow, col));
+		}
+		MazeGenerator.braid(walls, random);
+		for (int row = 1; row < rows - 1; row += TUNNEL_SPACING) {
+			walls.clear(walls.square(row, 0));
+			walls.clear(walls.square(row, columns - 1));
+			walls.clear(walls.square(row, columns - 2)); // Only a wall when the number of columns is even
+		}
+
+		/*
+		 * The pen is three squares on an odd row walled in on every side, with its
+		 * exit on the corridor row two above
+		 */
+		for (int row = penRow - 1; row <= penRow + 1; row++) {
+			for (int col = penCol - 2; col <= penCol + 2; col++) {
+				walls.set(walls.square(row, col));
+			}
+		}
+		for (int col = penCol - 1; col <= penCol + 1; col++) {
+			walls.clear(walls.square(penRow, col));
+		}
+		int ghostStart = walls.square(penRow, penCol);
+		int penExit = walls.square(penRow - 2, penCol);
+
+		BitBoard reached = MazeGenerator.reach(walls, penExit);
+		for (int row = 1; row < rows - 1; row += 2) {
+			for (int col = 1; col < columns - 1; col += 2) {
+				if (!reached.get(walls.square(row, col)) && (row != penRow || Math.abs(col - penCol) > 2)) {
+					throw new IllegalArgumentException(
+							"The pen cuts a maze of " + rows + " by " + columns + " in two: it needs more columns");
+				}
+			}
+		}
+		int pacStart = MazeGenerator.closest(reached, rows * 3 / 4, penCol);
+		BitBoard dots = new BitBoard(reached);
+		dots.clear(pacStart);
+		BitBoard energizers = new BitBoard(rows, columns);
+		int[] cornerRows = { 1, 1, rows - 2, rows - 2 };
+		int[] cornerCols = { 1, columns - 2, 1, columns - 2 };
+		for (int i = 0; i < cornerRows.length; i++) {
+			int corner = MazeGenerator.closest(dots, cornerRows[i], cornerCols[i]);
+			if (corner >= 0) {
+				dots.clear(corner);
+				energizers.set(corner);
+			}
+		}
+		return new Maze(walls, dots, energizers, pacStart, ghostStart);
+	}
+
+	/**
+	 * Carves a maze with a depth-first search over the squares on odd rows and
+	 * columns, knocking out the wall between a square and a random unvisited
+	 * square two away until every such square has been visited. The stack is an
+	 * int Array so that boards of millions of squares need no recursion.
+	 */
+	private static void carve(BitBoard walls, GameRandom random) {
+		int rows = walls.getRows();
+		int columns = walls.getColumns();
+		int[] stack = new int[((rows - 1) / 2) * ((columns - 1) / 2) + 1];
+		int[] choices = new int[DIRECTIONS.length];
+		int size = 0;
+		stack[size++] = walls.square(1, 1);
+		walls.clear(walls.square(1, 1));
+		while (size > 0) {
+			int cell = stack[size - 1];
+			int row = cell / columns;
+			int col = cell % columns;
+			int count = 0;
+			for (Direction dir : DIRECTIONS) {
+				int next = MazeGenerator.twoAway(walls, row, col, dir);
+				if (next >= 0 && walls.get(next)) {
+					choices[count++] = dir.ordinal();
+				}
+			}
+			if (count == 0) {
+				size = size - 1;
+				continue;
+			}
+			Direction dir = DIRECTIONS[choices[random.nextInt(count)]];
+			int next = MazeGenerator.twoAway(walls, row, col, dir);
+			walls.clear((cell + next) / 2);
+			walls.clear(next);
+			stack[size++] = next;
+		}
+	}
+
+	/**
+	 * Opens every dead end left by carving into a random neighboring corridor
+	 * two squares away, so that no corridor ends in a wall. Squares walled up
+	 * since carving, like the pen's, are not corridors and are left alone.
+	 */
+	private static void braid(BitBoard walls, GameRandom random) {
+		int rows = walls.getRows();
+		int columns = walls.getColumns();
+		BitBoard free = walls.inverted();
+		int[] choices = new int[DIRECTIONS.length];
+		for (int row = 1; row < rows - 1; row += 2) {
+			for (int col = 1; col < columns - 1; col += 2) {
+				int cell = walls.square(row, col);
+				if (Integer.bitCount(free.neighborMask(cell)) != 1) {
+					continue;
+				}
+				int count = 0;
+				for (Direction dir : DIRECTIONS) {
+					int next = MazeGenerator.twoAway(walls, row, col, dir);
+					if (next >= 0 && walls.get((cell + next) / 2) && !walls.get(next)) {
+						choices[count++] = dir.ordinal();
+					}
+				}
+				if (count > 0) {
+					int next = MazeGenerator.twoAway(walls, row, col, DIRECTIONS[choices[random.nextInt(count)]]);
+					walls.clear((cell + next) / 2);
+					free.set((cell + next) / 2);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the square two away from the given one in the given direction, or
+	 * -1 if it would not be inside the outer wall.
+	 */
+	private static int twoAway(BitBoard walls, int row, int col, Direction dir) {
+		switch (dir) {
+		case LEFT:
+			col = col - 2;
+			break;
+		case RIGHT:
+			col = col + 2;
+			break;
+		case UP:
+			row = row - 2;
+			break;
+		case DOWN:
+			row = row + 2;
+			break;
+		}
+		if (row < 1 || col < 1 || row > walls.getRows() - 2 || col > walls.getColumns() - 2) {
+			return -1;
+		}
+		return walls.square(row, col);
+	}
+
+	/**
+	 * Returns the BitBoard of free squares that can be reached from the start
+	 * without passing through a wall.
+	 */
+	private static BitBoard reach(BitBoard walls, int start) {
+		BitBoard free = walls.inverted();
+		BitBoard reached = new BitBoard(walls.getRows(), walls.getColumns());
+		int[] queue = new int[walls.getRows() * walls.getColumns()];
+		int[] offsets = new int[DIRECTIONS.length];
+		offsets[Direction.LEFT.ordinal()] = -1;
+		offsets[Direction.RIGHT.ordinal()] = 1;
+		offsets[Direction.UP.ordinal()] = -walls.getColumns();
+		offsets[Direction.DOWN.ordinal()] = walls.getColumns();
+		int tail = 0;
+		reached.set(start);
+		queue[tail++] = start;
+		for (int head = 0; head < tail; head++) {
+			int mask = free.neighborMask(queue[head]);
+			for (Direction dir : DIRECTIONS) {
+				int next = queue[head] + offsets[dir.ordinal()];
+				if ((mask & (1 << dir.ordinal())) != 0 && !reached.get(next)) {
+					reached.set(next);
+					queue[tail++] = next;
+				}
+			}
+		}
+		return reached;
+	}
+
+	/**
+	 * Returns the square of the BitBoard closest to the given row and column, or
+	 * -1 if it is empty.
+	 */
+	private static int closest(BitBoard squares, int row, int col) {
+		int closest = -1;
+		long smallestDist = Long.MAX_VALUE;
+		for (int square = squares.nextSetBit(0); square >= 0; square = squares.nextSetBit(square + 1)) {
+			long rowDist = square / squares.getColumns() - row;
+			long colDist = square % squares.getColumns() - col;
+			long dist = rowDist * rowDist + colDist * colDist;
+			if (dist < smallestDist) {
+				smallestDist = dist;
+				closest = square;
+			}
+		}
+		return closest;
+	}
+}
@@ -0,0 +1,9 @@
+package Pacman;
+
+/**
+ * Enums to represent the mode the Ghosts are in: chasing Pacman, scattering
+ * to their corners, or frightened and fleeing from Pacman
+ */
+public enum Mode {
+	CHASE, SCATTER, FRIGHTENED;
+}
@@ -0,0 +1,107 @@
+package Pacman;
+
+import java.util.Arrays;
+
+/**
+ * A precomputed answer to every question Ghost's BFS method can be asked on a
+ * fixed board. For each free square, each direction a Ghost may have arrived
+ * in, and each target square on the board, the table stores the direction the
+ * BFS would return. Since walls never change once the board is set up, the
+ * whole table is built once and a Ghost's decision becomes a single array read.
+ *
+ * Entries are stored as Direction ordinals in one flat byte array indexed by
+ * ((square * 4) + previous direction) * number of squares + target square. A
+ * value of -1 means the Ghost has no legal move from that square.
+ */
+public class NextHopTable {
+	private static final byte NO_MOVE = -1;
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private int _rows;
+	private int _columns;
+	private byte[] _hops;
+
+	/**
+	 * Takes in the Maze and builds a FlowField towards every square of the
+	 * board, each from a single search outwards from its target, and copies the
+	 * field's direction for every square and previous direction into the table.
+	 * A FlowField gives exactly the answers of the BFS, so this gives the same
+	 * table as running the BFS from every square, far faster.
+	 */
+	public NextHopTable(Maze maze) {
+		_rows = maze.getRows();
+		_columns = maze.getColumns();
+		int squares = _rows * _columns;
+		_hops = new byte[squares * DIRECTIONS.length * squares];
+		Arrays.fill(_hops, NO_MOVE);
+		for (int target = 0; target < squares; target++) {
+			FlowField field = new FlowField(maze, maze.getRow(target), maze.getCol(target));
+			for (int square = 0; square < squares; square++) {
+				if (maze.isWall(square)) {
+					continue;
+				}
+				for (Direction prevDir : DIRECTIONS) {
+					Direction hop = field.nextHop(square, prevDir);
+					if (hop != null) {
+						_hops[(square * DIRECTIONS.length + prevDir.ordinal()) * squares + target] = (byte) hop.ordinal();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Takes in the Maze and entries already computed for it, such as those
+	 * stored in a LevelPack, and uses them as they are. Throws an
+	 * IllegalArgumentException if there are not exactly as many entries as a
+	 * table of this Maze holds.
+	 */
+	public NextHopTable(Maze maze, byte[] hops) {
+		_rows = maze.getRows();
+		_columns = maze.getColumns();
+		if (hops.length != NextHopTable.entryCount(maze.getCells())) {
+			throw new IllegalArgumentException("A NextHopTable of " + maze.getCells() + " squares has "
+					+ NextHopTable.entryCount(maze.getCells()) + " entries, not " + hops.length);
+		}
+		_hops = hops;
+	}
+
+	/**
+	 * Returns the number of entries in a table of a board of the given number
+	 * of squares.
+	 */
+	public static long entryCount(int squares) {
+		return (long) squares * DIRECTIONS.length * squares;
+	}
+
+	/**
+	 * Returns the entries of the table, to be stored in a LevelPack. They must
+	 * not be changed.
+	 */
+	public byte[] getHops() {
+		return _hops;
+	}
+
+	/**
+	 * Returns whether the target lies on the board and can therefore be answered
+	 * by the table. Chase targets may fall off the board, in which case the Ghost
+	 * has to run its own BFS.
+	 */
+	public boolean covers(int targetRow, int targetCol) {
+		return targetRow >= 0 && targetRow < _rows && targetCol >= 0 && targetCol < _columns;
+	}
+
+	/**
+	 * Returns the direction a Ghost on the given cell, having last moved in
+	 * prevDir, should move in to approach the target cell, or null if it cannot
+	 * move.
+	 */
+	public Direction nextHop(int cell, Direction prevDir, int target) {
+		int squares = _rows * _columns;
+		byte hop = _hops[(cell * DIRECTIONS.length + prevDir.ordinal()) * squares + target];
+		if (hop == NO_MOVE) {
+			return null;
+		}
+		return DIRECTIONS[hop];
+	}
+}
@@ -14,11 +14,16 @@ import javafx.scene.layout.VBox;
  */
 public class PaneOrganizer {
 	private BorderPane _root;
+	private VBox _menuPane;
 	private Label _gameLabel;
 	private Label _pointsLabel;
 	private Label _livesLabel;
 	private int _points;
 	private int _lives;
+	private String _status;
+	private boolean _pointsChanged;
+	private boolean _livesChanged;
+	private boolean _statusChanged;
 
 	/**
 	 * The constructor of the PaneOrganizer where the BorderPane, animation 
@@ -28,20 +33,21 @@ public class PaneOrganizer {
 	 */
 	public PaneOrganizer() {
 		_root = new BorderPane();
-		new Game(this);
-		VBox menuPane = new VBox(Constants.VBOX_SPACING);
-		menuPane.setPrefWidth(Constants.VBOX_WIDTH);
-		menuPane.setAlignment(Pos.CENTER);
-		_root.setRight(menuPane);
+		_menuPane = new VBox(Constants.VBOX_SPACING);
+		_menuPane.setPrefWidth(Constants.VBOX_WIDTH);
+		_menuPane.setAlignment(Pos.CENTER);
+		_root.setRight(_menuPane);
 		_points = 0;
-		_lives = 3;
-		_gameLabel = new Label("You know what to do");
+		_lives = Constants.START_LIVES;
+		_status = "You know what to do";
+		_gameLabel = new Label(_status);
 		_pointsLabel = new Label("Points: " + _points);
 		_livesLabel = new Label("Lives: " + _lives);
 		Button button = new Button("Quit");
 		button.setOnAction(new QuitHandler());
 		button.setFocusTraversable(false);
-		menuPane.getChildren().addAll(_pointsLabel, _livesLabel, _gameLabel, button);
+		_menuPane.getChildren().addAll(_pointsLabel, _livesLabel, _gameLabel, button);
+		new Game(this);
 	}
 	
 	/**
@@ -63,20 +69,34 @@ public class PaneOrganizer {
 	}
 	
 	/**
-	 * Updates respective amount of points upon successful collision.
+	 * Adds a PerformanceHud reading the given Instrumentation below the Quit
+	 * button and starts refreshing it.
+	 */
+	public void showHud(Instrumentation instrumentation) {
+		PerformanceHud hud = new PerformanceHud(instrumentation);
+		_menuPane.getChildren().add(hud.getPane());
+		hud.start();
+	}
+	
+	/**
+	 * Notes the points scored so far, to be shown at the next flush if they
+	 * changed.
 	 */
-	public void updatePoints(int points) {
-		_points = _points + points;
-		_pointsLabel.setText("Points: " + _points);
+	public void setPoints(int points) {
+		if (points != _points) {
+			_points = points;
+			_pointsChanged = true;
+		}
 	}
 	
 	/**
-	 * Decrements amount of lives upon collision with chasing or scattering
-	 * Ghost.
+	 * Notes the lives left, to be shown at the next flush if they changed.
 	 */
-	public void updateLives() {
-		_lives = _lives - 1;
-		_livesLabel.setText("Lives: " + _lives);
+	public void setLives(int lives) {
+		if (lives != _lives) {
+			_lives = lives;
+			_livesChanged = true;
+		}
 	}
 	
 	/**
@@ -87,16 +107,47 @@ public class PaneOrganizer {
 	}
 	
 	/**
-	 * Lets player know game is over.
+	 * Lets player know game is over at the next flush.
 	 */
 	public void gameOver() {
-		_gameLabel.setText("Game over");
+		this.setStatus("Game over");
 	}
 	
 	/**
-	 * Lets player know game has won.
+	 * Lets player know game has won at the next flush.
 	 */
 	public void gameWin() {
-		_gameLabel.setText("You win");
+		this.setStatus("You win");
+	}
+	
+	/**
+	 * Notes the status of the game, to be shown at the next flush if it
+	 * changed.
+	 */
+	private void setStatus(String status) {
+		if (!status.equals(_status)) {
+			_status = status;
+			_statusChanged = true;
+		}
+	}
+	
+	/**
+	 * Shows whatever changed since the last flush, so that each label is set,
+	 * and its text made, at most once per frame and only when it changed.
+	 * Called once per frame drawn, after the frame's changes are noted.
+	 */
+	public void flush() {
+		if (_pointsChanged) {
+			_pointsLabel.setText("Points: " + _points);
+			_pointsChanged = false;
+		}
+		if (_livesChanged) {
+			_livesLabel.setText("Lives: " + _lives);
+			_livesChanged = false;
+		}
+		if (_statusChanged) {
+			_gameLabel.setText(_status);
+			_statusChanged = false;
+		}
 	}
 }
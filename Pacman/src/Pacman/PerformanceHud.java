@@ -0,0 +1,182 @@
+package Pacman;
+
+import java.lang.management.ManagementFactory;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+
+/**
+ * Labels for the sidebar showing how fast the machine is running the game:
+ * frames rendered per second, how many of them drew a new tick, ticks
+ * simulated per second, the mean and 99th
+ * percentile tick time, the mean time a Ghost takes to decide at a junction,
+ * and the heap in use and allocated per second by every thread. The frame,
+ * tick, and decision figures are read from the game's Instrumentation over the
+ * interval since the last refresh, so a machine that slows down shows it at
+ * once instead of being averaged away by the rest of the session. Frames are
+ * counted by the HUD's own AnimationTimer on every pulse rather than from the
+ * draws, since Game only draws when a new tick has arrived, so a machine that
+ * renders slowly shows it even while the ticks keep up.
+ *
+ * An AnimationTimer of its own refreshes the labels at most four times a
+ * second, so every other pulse costs one comparison, and the Histograms it
+ * reads are copied into its own rather than locked, so the simulation thread
+ * never waits on it.
+ */
+public class PerformanceHud {
+	private static final long REFRESH_NANOS = 250000000L;
+	private static final Phase[] PHASES = Phase.values();
+
+	private Instrumentation _instrumentation;
+	private VBox _pane;
+	private Label _fpsLabel;
+	private Label _ticksLabel;
+	private Label _tickTimeLabel;
+	private Label _decisionLabel;
+	private Label _heapLabel;
+	private Histogram[] _earlier;
+	private Histogram[] _later;
+	private Histogram _interval;
+	private com.sun.management.ThreadMXBean _threads;
+	private long _allocatedBytes;
+	private long _refreshed;
+	private long _frames;
+	private HudTimer _timer;
+
+	/**
+	 * Takes in the Instrumentation timing the game and the drawing, and makes
+	 * the labels and the copies of its Histograms. Allocations are only shown
+	 * on JVMs whose ThreadMXBean can count them.
+	 */
+	public PerformanceHud(Instrumentation instrumentation) {
+		_instrumentation = instrumentation;
+		_pane = new VBox(Constants.VBOX_SPACING);
+		_pane.setAlignment(Pos.CENTER);
+		_fpsLabel = new Label();
+		_ticksLabel = new Label();
+		_tickTimeLabel = new Label();
+		_decisionLabel = new Label();
+		_heapLabel = new Label();
+		_pane.getChildren().addAll(_fpsLabel, _ticksLabel, _tickTimeLabel, _decisionLabel, _heapLabel);
+		_earlier = new Histogram[PHASES.length];
+		_later = new Histogram[PHASES.length];
+		for (int i = 0; i < PHASES.length; i++) {
+			_earlier[i] = new Histogram();
+			_later[i] = new Histogram();
+		}
+		_interval = new Histogram();
+		java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+			_threads = (com.sun.management.ThreadMXBean) threads;
+			_threads.setThreadAllocatedMemoryEnabled(true);
+			_allocatedBytes = this.allocatedBytes();
+		}
+		_refreshed = System.nanoTime();
+		_timer = new HudTimer();
+	}
+
+	/**
+	 * Returns the pane holding the labels.
+	 */
+	public VBox getPane() {
+		return _pane;
+	}
+
+	/**
+	 * Starts refreshing the labels.
+	 */
+	public void start() {
+		_timer.start();
+	}
+
+	/**
+	 * Stops refreshing the labels, which keep their last figures.
+	 */
+	public void stop() {
+		_timer.stop();
+	}
+
+	/**
+	 * Counts every pulse as a frame and refreshes the labels once a quarter of a
+	 * second has passed since the last refresh.
+	 */
+	private class HudTimer extends AnimationTimer {
+
+		@Override
+		public void handle(long now) {
+			_frames = _frames + 1;
+			if (now - _refreshed >= REFRESH_NANOS) {
+				PerformanceHud.this.refresh(now);
+			}
+		}
+	}
+
+	/**
+	 * Copies the Instrumentation's Histograms, works out every figure over the
+	 * interval since the last refresh, and shows them.
+	 */
+	private void refresh(long now) {
+		double seconds = (now - _refreshed) / 1e9;
+		_refreshed = now;
+		for (int i = 0; i < _later.length; i++) {
+			_later[i].copyFrom(_instrumentation.getLatencies(PHASES[i]));
+		}
+
+		_fpsLabel.setText(String.format("Render: %.0f fps, %.0f drawn/s", _frames / seconds,
+				this.countSince(Phase.DRAW) / seconds));
+		_frames = 0;
+		_ticksLabel.setText(String.format("Simulation: %.0f ticks/s", this.countSince(Phase.TICK) / seconds));
+		this.setToInterval(Phase.TICK);
+		_tickTimeLabel.setText(String.format("Tick: %.1f us, p99 %.1f us", _interval.getMean() / 1e3,
+				_interval.getPercentile(0.99) / 1e3));
+		this.setToInterval(Phase.GHOST_DECISION);
+		_decisionLabel.setText(String.format("Ghost decision: %.1f us", _interval.getMean() / 1e3));
+
+		Runtime runtime = Runtime.getRuntime();
+		long usedMegabytes = (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+		if (_threads != null) {
+			long allocated = this.allocatedBytes();
+			/* Threads that have ended take their counts with them, which can only lower the total */
+			double rate = Math.max(0, allocated - _allocatedBytes) / seconds / (1 << 20);
+			_allocatedBytes = allocated;
+			_heapLabel.setText(String.format("Heap: %d MB, %.1f MB/s", usedMegabytes, rate));
+		} else {
+			_heapLabel.setText(String.format("Heap: %d MB", usedMegabytes));
+		}
+
+		Histogram[] swap = _earlier;
+		_earlier = _later;
+		_later = swap;
+	}
+
+	/**
+	 * Returns the number of times the phase was timed since the last refresh.
+	 */
+	private long countSince(Phase phase) {
+		return _later[phase.ordinal()].getCount() - _earlier[phase.ordinal()].getCount();
+	}
+
+	/**
+	 * Makes the interval Histogram the phase's latencies since the last
+	 * refresh.
+	 */
+	private void setToInterval(Phase phase) {
+		_interval.setToChange(_later[phase.ordinal()], _earlier[phase.ordinal()]);
+	}
+
+	/**
+	 * Returns the bytes allocated so far by every live thread.
+	 */
+	private long allocatedBytes() {
+		long total = 0;
+		for (long bytes : _threads.getThreadAllocatedBytes(_threads.getAllThreadIds())) {
+			if (bytes > 0) {
+				total = total + bytes;
+			}
+		}
+		return total;
+	}
+}
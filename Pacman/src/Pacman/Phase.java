@@ -0,0 +1,9 @@
+package Pacman;
+
+/**
+ * Enums to represent the parts of a tick, and of drawing it, that
+ * Instrumentation times
+ */
+public enum Phase {
+	TICK, PACMAN, PEN, GHOSTS, GHOST_DECISION, COLLISION, DRAW;
+}
@@ -0,0 +1,41 @@
+package Pacman;
+
+/**
+ * An Agent that wanders the maze: right before each of Pacman's moves it picks
+ * a new open direction at random whenever he is blocked, and otherwise turns
+ * about a quarter of the time. Useful as a baseline and for exercising the
+ * simulation in batch runs.
+ */
+public class RandomAgent implements Agent {
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private GameRandom _random;
+
+	/**
+	 * Takes in the agent's own GameRandom so that its choices can be replayed.
+	 */
+	public RandomAgent(GameRandom random) {
+		_random = random;
+	}
+
+	@Override
+	public Direction chooseDirection(Simulation simulation) {
+		if ((simulation.getTick() + 1) % Constants.PAC_TICKS != 0) { // Pacman does not move on the next tick
+			return null;
+		}
+		Direction current = simulation.getDirection();
+		boolean blocked = current == null
+				|| !simulation.canMove(simulation.getPacCell(), current);
+		if (!blocked && _random.nextInt(4) != 0) {
+			return null;
+		}
+		Direction next = DIRECTIONS[_random.nextInt(DIRECTIONS.length)];
+		for (int i = 0; i < DIRECTIONS.length; i++) {
+			if (simulation.canMove(simulation.getPacCell(), next)) {
+				return next;
+			}
+			next = DIRECTIONS[(next.ordinal() + 1) % DIRECTIONS.length];
+		}
+		return null;
+	}
+}
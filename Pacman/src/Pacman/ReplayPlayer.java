@@ -0,0 +1,245 @@
+package Pacman;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Plays back a game recorded by a ReplayRecorder by simulating it again from
+ * its seed and inputs, which gives exactly the recorded game since the rules
+ * depend on nothing else. The stream is read once up front into Arrays of the
+ * inputs' ticks and directions and of the keyframes' ticks and states, so that
+ * seeking to a tick restores the last keyframe at or before it and simulates
+ * only the ticks from there, never more than the keyframe interval.
+ *
+ * A stream cut off part way through a record, such as one from a session that
+ * was killed, is read up to its last whole record.
+ */
+public class ReplayPlayer {
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private Simulation _simulation;
+	private long _seed;
+	private int _keyframeInterval;
+	private long[] _inputTicks;
+	private byte[] _inputs;
+	private int _inputCount;
+	private long[] _keyframeTicks;
+	private long[][] _keyframes;
+	private int _keyframeCount;
+	private long _endTick;
+	private boolean _ended;
+	private SimulationState _state;
+	private int _nextInput;
+
+	/**
+	 * Reads the recording at the given path of a game on the given maze and puts
+	 * the game at tick 0.
+	 */
+	public ReplayPlayer(Maze maze, Path path) throws IOException {
+		this(maze, Files.readAllBytes(path));
+	}
+
+	/**
+	 * Reads a recording of a game on the given maze from the bytes of its stream
+	 * and puts the game at tick 0. Throws an IOException if the bytes are not a
+	 * recording of a game on a maze of this size.
+	 */
+	public ReplayPlayer(Maze maze, byte[] recording) throws IOException {
+		ByteBuffer in = ByteBuffer.wrap(recording);
+		if (recording.length < 32 || in.getInt() != ReplayRecorder.MAGIC) {
+			throw new IOException("Not a replay");
+		}
+		int version = in.getInt();
+		if (version != ReplayRecorder.VERSION) {
+			throw new IOException("Unsupported replay version " + version);
+		}
+		_seed = in.getLong();
+		if (in.getInt() != maze.getRows() || in.getInt() != maze.getColumns()) {
+			throw new IOException("The replay was recorded on a maze of another size");
+		}
+		_keyframeInterval = in.getInt();
+		_simulation = new Simulation(maze, _seed);
+		_state = new SimulationState(_simulation);
+		if (in.getInt() != _state.getValues().length) {
+			throw new IOException("The replay's states do not match this version of the game");
+		}
+		this.readRecords(in);
+		this.seek(0);
+	}
+
+	/**
+	 * Reads every whole record into the Arrays of inputs and keyframes, growing
+	 * them as needed. Throws an IOException on a record of no known kind.
+	 */
+	private void readRecords(ByteBuffer in) throws IOException {
+		_inputTicks = new long[64];
+		_inputs = new byte[64];
+		_keyframeTicks = new long[8];
+		_keyframes = new long[8][];
+		long tick = 0;
+		try {
+			while (in.hasRemaining() && !_ended) {
+				int kind = in.get();
+				long delta = 0;
+				int shift = 0;
+				byte part;
+				do {
+					part = in.get();
+					delta = delta | ((long) (part & 0x7F) << shift);
+					shift = shift + 7;
+				} while ((part & 0x80) != 0);
+				tick = tick + delta;
+				if (kind == ReplayRecorder.KEYFRAME) {
+					long[] values = new long[_state.getValues().length];
+					for (int i = 0; i < values.length; i++) {
+						values[i] = in.getLong();
+					}
+					if (_keyframeCount == _keyframes.length) {
+						_keyframeTicks = Arrays.copyOf(_keyframeTicks, _keyframeCount * 2);
+						_keyframes = Arrays.copyOf(_keyframes, _keyframeCount * 2);
+					}
+					_keyframeTicks[_keyframeCount] = tick;
+					_keyframes[_keyframeCount] = values;
+					_keyframeCount = _keyframeCount + 1;
+				} else if (kind == ReplayRecorder.END) {
+					_ended = true;
+				} else if (kind < 0 || kind >= DIRECTIONS.length) {
+					throw new IOException("Unknown replay record kind " + kind + " at tick " + tick);
+				} else {
+					if (_inputCount == _inputs.length) {
+						_inputTicks = Arrays.copyOf(_inputTicks, _inputCount * 2);
+						_inputs = Arrays.copyOf(_inputs, _inputCount * 2);
+					}
+					_inputTicks[_inputCount] = tick;
+					_inputs[_inputCount] = (byte) kind;
+					_inputCount = _inputCount + 1;
+				}
+				_endTick = tick;
+			}
+		} catch (BufferUnderflowException e) {
+			/* The stream was cut off part way through its last record */
+		}
+	}
+
+	/**
+	 * Puts the game at the given tick: the last keyframe at or before it is
+	 * restored, or the game is started over from its seed if there is none, and
+	 * the ticks from there are simulated with their inputs.
+	 */
+	public void seek(long tick) {
+		int keyframe = this.lastAtOrBefore(_keyframeTicks, _keyframeCount, tick);
+		if (keyframe >= 0 && (tick < _simulation.getTick() || _keyframeTicks[keyframe] > _simulation.getTick())) {
+			System.arraycopy(_keyframes[keyframe], 0, _state.getValues(), 0, _state.getValues().length);
+			_simulation.restore(_state);
+		} else if (tick < _simulation.getTick()) {
+			_simulation = new Simulation(_simulation.getMaze(), _seed, _simulation.getSearchContext());
+		}
+		_nextInput = this.lastAtOrBefore(_inputTicks, _inputCount, _simulation.getTick() - 1) + 1;
+		while (_simulation.getTick() < tick && !_simulation.isOver()) {
+			this.step();
+		}
+	}
+
+	/**
+	 * Runs the next tick of the game, turning Pacman first if a direction was
+	 * recorded for it.
+	 */
+	public void step() {
+		long tick = _simulation.getTick();
+		while (_nextInput < _inputCount && _inputTicks[_nextInput] < tick) {
+			_nextInput = _nextInput + 1;
+		}
+		if (_nextInput < _inputCount && _inputTicks[_nextInput] == tick) {
+			_simulation.setDirection(DIRECTIONS[_inputs[_nextInput]]);
+			_nextInput = _nextInput + 1;
+		}
+		_simulation.tick();
+	}
+
+	/**
+	 * Returns the index of the last of the first count sorted ticks that is at
+	 * or before the given tick, or -1 if there is none.
+	 */
+	private int lastAtOrBefore(long[] ticks, int count, long tick) {
+		int low = 0;
+		int high = count - 1;
+		int found = -1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			if (ticks[middle] <= tick) {
+				found = middle;
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Returns the game being played back, which must only be changed through
+	 * seek and step.
+	 */
+	public Simulation getSimulation() {
+		return _simulation;
+	}
+
+	/**
+	 * Returns the seed the game was recorded with.
+	 */
+	public long getSeed() {
+		return _seed;
+	}
+
+	/**
+	 * Returns the number of ticks between keyframes.
+	 */
+	public int getKeyframeInterval() {
+		return _keyframeInterval;
+	}
+
+	/**
+	 * Returns the last tick recorded: the tick the game stopped at if the
+	 * recording was closed, or the tick of its last whole record otherwise.
+	 */
+	public long getEndTick() {
+		return _endTick;
+	}
+
+	/**
+	 * Returns whether the recording was closed properly rather than cut off.
+	 */
+	public boolean isComplete() {
+		return _ended;
+	}
+
+	/**
+	 * Opens the recording at the given path of a game on the support map, seeks
+	 * to the given tick, or its end if none is given, and prints the game there
+	 * and how long the seek took. Prints how to run it if no path is given.
+	 */
+	public static void main(String[] argv) throws IOException {
+		if (argv.length < 1 || argv.length > 2) {
+			System.err.println("Usage: ReplayPlayer <replay file> [tick]");
+			return;
+		}
+		Maze maze = new Maze(cs015.fnl.PacmanSupport.SupportMap.getMap());
+		ReplayPlayer player = new ReplayPlayer(maze, Paths.get(argv[0]));
+		long tick = argv.length > 1 ? Long.parseLong(argv[1]) : player.getEndTick();
+		long start = System.nanoTime();
+		player.seek(tick);
+		double millis = (System.nanoTime() - start) / 1e6;
+		Simulation simulation = player.getSimulation();
+		System.out.println(String.format("seed=%d end=%d complete=%b", player.getSeed(), player.getEndTick(),
+				player.isComplete()));
+		System.out.println(String.format("tick=%d points=%d lives=%d pacman=(%d,%d) mode=%s", simulation.getTick(),
+				simulation.getPoints(), simulation.getLives(), simulation.getPacRow(), simulation.getPacCol(),
+				simulation.getMode()));
+		System.out.println(String.format("seek took %.3f ms", millis));
+	}
+}
@@ -0,0 +1,137 @@
+package Pacman;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Records a game as its seed and the directions Pacman was turned to, by
+ * standing between the Agent that plays the game and the Simulation. Every
+ * direction the Agent returns is passed on unchanged and appended to a binary
+ * stream along with its tick, so a game of thousands of ticks with a few
+ * hundred key presses takes a few kilobytes. Every keyframeInterval ticks the
+ * whole SimulationState is appended as well, so that a ReplayPlayer can seek to
+ * any tick by restoring the keyframe before it and simulating at most
+ * keyframeInterval ticks.
+ *
+ * The stream starts with the magic number, the format version, the seed, the
+ * maze's rows and columns, the keyframe interval, and the number of longs in a
+ * SimulationState. Every record after it is a kind byte and the number of ticks
+ * since the previous record as a variable-length number of 7 bits per byte.
+ * Kinds 0 to 3 are a Direction's ordinal, KEYFRAME is followed by the state's
+ * longs, and END closes the stream. The stream is only ever appended to and is
+ * flushed at every keyframe, so a session that is cut off still replays up to
+ * its last keyframe and usually further.
+ */
+public class ReplayRecorder implements Agent {
+	static final int MAGIC = 0x50414B52; // "PAKR"
+	static final int VERSION = 2;
+	static final int KEYFRAME = 4;
+	static final int END = 5;
+
+	private Agent _agent;
+	private DataOutputStream _out;
+	private int _keyframeInterval;
+	private SimulationState _state;
+	private long _lastTick;
+
+	/**
+	 * Takes in the Agent playing the game, the stream to record to, the game
+	 * before its first tick and the seed it was made with, and the number of
+	 * ticks between keyframes, and writes the header.
+	 */
+	public ReplayRecorder(Agent agent, OutputStream out, Simulation simulation, long seed, int keyframeInterval)
+			throws IOException {
+		if (keyframeInterval <= 0) {
+			throw new IllegalArgumentException("Keyframe interval must be positive: " + keyframeInterval);
+		}
+		_agent = agent;
+		_out = new DataOutputStream(new BufferedOutputStream(out));
+		_keyframeInterval = keyframeInterval;
+		_state = new SimulationState(simulation);
+		_lastTick = 0;
+		_out.writeInt(MAGIC);
+		_out.writeInt(VERSION);
+		_out.writeLong(seed);
+		_out.writeInt(simulation.getMaze().getRows());
+		_out.writeInt(simulation.getMaze().getColumns());
+		_out.writeInt(keyframeInterval);
+		_out.writeInt(_state.getValues().length);
+	}
+
+	/**
+	 * Asks the Agent which way Pacman should turn and returns its answer,
+	 * recording a keyframe first if this tick is due one and then the direction
+	 * if there is one. If the stream fails, recording stops but the game goes
+	 * on.
+	 */
+	@Override
+	public Direction chooseDirection(Simulation simulation) {
+		Direction direction = _agent.chooseDirection(simulation);
+		if (_out == null) {
+			return direction;
+		}
+		long tick = simulation.getTick();
+		try {
+			if (tick % _keyframeInterval == 0) {
+				simulation.save(_state);
+				this.writeRecord(KEYFRAME, tick);
+				for (long value : _state.getValues()) {
+					_out.writeLong(value);
+				}
+				_out.flush();
+			}
+			if (direction != null) {
+				this.writeRecord(direction.ordinal(), tick);
+			}
+		} catch (IOException e) {
+			this.stop(e);
+		}
+		return direction;
+	}
+
+	/**
+	 * Writes a record's kind and the ticks since the previous record.
+	 */
+	private void writeRecord(int kind, long tick) throws IOException {
+		_out.writeByte(kind);
+		long delta = tick - _lastTick;
+		while (delta >= 0x80) {
+			_out.writeByte((int) (delta & 0x7F) | 0x80);
+			delta = delta >>> 7;
+		}
+		_out.writeByte((int) delta);
+		_lastTick = tick;
+	}
+
+	/**
+	 * Ends the stream with the tick the game stopped at and closes it.
+	 */
+	public void close(Simulation simulation) {
+		if (_out == null) {
+			return;
+		}
+		try {
+			this.writeRecord(END, simulation.getTick());
+			_out.close();
+			_out = null;
+		} catch (IOException e) {
+			this.stop(e);
+		}
+	}
+
+	/**
+	 * Gives up on a stream that has failed, so that a full disk never stops the
+	 * game itself.
+	 */
+	private void stop(IOException e) {
+		System.err.println("Replay recording stopped: " + e);
+		try {
+			_out.close();
+		} catch (IOException closing) {
+			/* Already failing, so there is nothing more to do */
+		}
+		_out = null;
+	}
+}
@@ -0,0 +1,558 @@
+package Pacman;
+
+import java.util.Arrays;
+
+/**
+ * Reusable working memory for the searches Ghosts use to pick a direction. One
+ * instance can be shared by every game run on one thread, one search at a time,
+ * so a search allocates nothing: squares are the Maze's cell indices, neighbors
+ * come from the Maze's flat table, the queue is a ring buffer of cells, and the
+ * map of first-step directions is cleared by bumping a generation stamp rather
+ * than by being reallocated or refilled. The same memory serves the A* search
+ * over the Maze's JunctionGraph that gives the same answers on boards too large
+ * to search outwards. The BFS's arrays, one entry per square, are only made the
+ * first time it runs, since games on such boards never run it.
+ *
+ * Neighbors are checked down, up, right, then left, which decides ties. A
+ * Ghost may not turn back on its first step, and moving off the edge of the
+ * board through a tunnel wraps around to the other end.
+ */
+public class SearchContext {
+	private static final byte NO_MOVE = -1;
+	private static final int SCAN_PART_MAX = 4096;
+	private static final Direction[] DIRECTIONS = Direction.values();
+	private static final Direction[] SEARCH_ORDER = { Direction.DOWN, Direction.UP, Direction.RIGHT, Direction.LEFT };
+	private static final int[] SEARCH_ORDINALS = { Direction.DOWN.ordinal(), Direction.UP.ordinal(),
+			Direction.RIGHT.ordinal(), Direction.LEFT.ordinal() };
+
+	private Maze _maze;
+	private JunctionGraph _junctions;
+	private int[] _neighbors;
+	private int[] _queue;
+	private int _mask;
+	private int _head;
+	private int _tail;
+	private byte[] _dirMap;
+	private int[] _cellStamps;
+	private int _generation;
+	private int _rows;
+	private int _columns;
+	private int[] _edgeEnds;
+	private int[] _edgeLengths;
+	private int[] _landmarkSteps;
+	private int _landmarkCount;
+	private int[] _stamps;
+	private int[] _closed;
+	private int[] _steps;
+	private long[] _heapKeys;
+	private int[] _heapNodes;
+	private int _heapSize;
+	private int[] _sources;
+	private int _sourceCount;
+	private int[] _candidates;
+	private Direction[] _candidateDirs;
+	private int[] _candidateSteps;
+	private int[] _candidateEdges;
+	private int[] _candidateOffsets;
+	private int _candidateCount;
+	private int[] _goalNodes;
+	private int[] _goalOffsets;
+	private int[] _goalCandidates;
+	private int _goalCount;
+	private int[] _boundNodes;
+	private int[] _boundOffsets;
+	private int[] _boundRows;
+	private int[] _boundCols;
+	private int[] _boundLandmarkSteps;
+	private int _boundCount;
+	private boolean _gridBound;
+	private int _locatedEdge;
+	private int _locatedOffset;
+	private long _searchCount;
+	private long _visitedCount;
+
+	/**
+	 * Takes in the Maze to search and sizes the A* search's arrays to the nodes
+	 * of its JunctionGraph. The heap starts small and grows as needed.
+	 */
+	public SearchContext(Maze maze) {
+		_maze = maze;
+		_junctions = maze.getJunctions();
+		_neighbors = maze.getNeighbors();
+		_generation = 0;
+		_rows = maze.getRows();
+		_columns = maze.getColumns();
+		_edgeEnds = _junctions.getEdgeEnds();
+		_edgeLengths = _junctions.getEdgeLengths();
+		_landmarkSteps = _junctions.getLandmarkSteps();
+		_landmarkCount = _junctions.getLandmarkCount();
+		int nodes = _junctions.getNodeCount();
+		_stamps = new int[nodes];
+		_closed = new int[nodes];
+		_steps = new int[nodes];
+		_heapKeys = new long[64];
+		_heapNodes = new int[64];
+		_sources = new int[16];
+		_candidates = new int[DIRECTIONS.length];
+		_candidateDirs = new Direction[DIRECTIONS.length];
+		_candidateSteps = new int[DIRECTIONS.length];
+		_candidateEdges = new int[DIRECTIONS.length];
+		_candidateOffsets = new int[DIRECTIONS.length];
+		_goalNodes = new int[2 * DIRECTIONS.length];
+		_goalOffsets = new int[2 * DIRECTIONS.length];
+		_goalCandidates = new int[2 * DIRECTIONS.length];
+		_boundNodes = new int[2 * DIRECTIONS.length];
+		_boundOffsets = new int[2 * DIRECTIONS.length];
+		_boundRows = new int[2 * DIRECTIONS.length];
+		_boundCols = new int[2 * DIRECTIONS.length];
+		_boundLandmarkSteps = new int[2 * DIRECTIONS.length * _landmarkCount];
+		_gridBound = !maze.hasPortals();
+	}
+
+	/**
+	 * Returns the Maze this context searches.
+	 */
+	public Maze getMaze() {
+		return _maze;
+	}
+
+	/**
+	 * Searches outwards from the start square and returns the direction of the
+	 * first step towards the reached square closest to the target, or null if
+	 * there is no legal move. Ties go to the square reached first. Distances are
+	 * compared squared so no square root is taken, and the search stops as soon
+	 * as the target square itself is reached since nothing can be closer.
+	 */
+	public Direction nearest(int square, Direction prevDir, int targetRow, int targetColumn) {
+		this.begin(square, prevDir);
+		int smallestDist = Integer.MAX_VALUE;
+		byte hop = NO_MOVE;
+		while (_head < _tail) {
+			int current = _queue[_head++ & _mask];
+			int rowDist = _maze.getRow(current) - targetRow;
+			int colDist = _maze.getCol(current) - targetColumn;
+			int currentDist = rowDist * rowDist + colDist * colDist;
+			if (currentDist < smallestDist) {
+				smallestDist = currentDist;
+				hop = _dirMap[current];
+				if (currentDist == 0) {
+					break;
+				}
+			}
+			this.expand(current);
+		}
+		_searchCount = _searchCount + 1;
+		_visitedCount = _visitedCount + _tail;
+		if (hop == NO_MOVE) {
+			return null;
+		}
+		return DIRECTIONS[hop];
+	}
+
+	/**
+	 * Returns the number of searches run so far, counting only those of toward
+	 * that had more than one way to choose between.
+	 */
+	public long getSearchCount() {
+		return _searchCount;
+	}
+
+	/**
+	 * Returns the number of squares or nodes visited by every search so far:
+	 * the squares queued by nearest and the nodes closed by toward.
+	 */
+	public long getVisitedCount() {
+		return _visitedCount;
+	}
+
+	/**
+	 * Starts a new search: makes the arrays the first time, sized to the next
+	 * power of two that holds every square for the queue, stamps a new
+	 * generation, empties the queue, and queues the start square's open
+	 * neighbors except the one behind the Ghost.
+	 */
+	private void begin(int start, Direction prevDir) {
+		if (_queue == null) {
+			int squares = _maze.getCells();
+			_queue = new int[Integer.highestOneBit(squares - 1) << 1];
+			_mask = _queue.length - 1;
+			_dirMap = new byte[squares];
+			_cellStamps = new int[squares];
+		}
+		this.nextGeneration();
+		_head = 0;
+		_tail = 0;
+		Direction behind = prevDir.getOpposite();
+		for (Direction dir : SEARCH_ORDER) {
+			int neighbor = _neighbors[start * DIRECTIONS.length + dir.ordinal()];
+			if (dir != behind && neighbor >= 0 && _cellStamps[neighbor] != _generation) {
+				this.visit(neighbor, (byte) dir.ordinal());
+			}
+		}
+	}
+
+	/**
+	 * Queues the unvisited open neighbors of a square, labelling them with the
+	 * square's own first-step direction.
+	 */
+	private void expand(int square) {
+		int base = square * DIRECTIONS.length;
+		byte hop = _dirMap[square];
+		for (int i = 0; i < SEARCH_ORDINALS.length; i++) {
+			int neighbor = _neighbors[base + SEARCH_ORDINALS[i]];
+			if (neighbor >= 0 && _cellStamps[neighbor] != _generation) {
+				this.visit(neighbor, hop);
+			}
+		}
+	}
+
+	/**
+	 * Marks a square as visited with the given first-step direction and queues
+	 * it.
+	 */
+	private void visit(int square, byte hop) {
+		_cellStamps[square] = _generation;
+		_dirMap[square] = hop;
+		_queue[_tail++ & _mask] = square;
+	}
+
+	/**
+	 * Stamps a new generation, so that every square and node counts as
+	 * unvisited.
+	 */
+	private void nextGeneration() {
+		_generation = _generation + 1;
+		if (_generation == 0) { // Stamps wrapped around, so old ones could be mistaken for new
+			if (_cellStamps != null) {
+				Arrays.fill(_cellStamps, 0);
+			}
+			Arrays.fill(_stamps, 0);
+			Arrays.fill(_closed, 0);
+			_generation = 1;
+		}
+	}
+
+	/**
+	 * Returns exactly the direction nearest would, but searches backwards from
+	 * the target with A* over the JunctionGraph instead of outwards from the
+	 * Ghost, so that on a large board only the junctions between the two are
+	 * visited instead of every square closer than the target.
+	 *
+	 * nearest heads for the first reached square closest to the target. Every
+	 * square connected to the Ghost's is reached, so those closest squares are
+	 * found in the Ghost's part of the Maze first, and the answer is the first
+	 * open direction in the search order, other than back, whose neighbor is
+	 * fewest steps from any of them. A square inside a corridor can only be
+	 * reached along the corridor or through one of its two end nodes, so the
+	 * search counts the steps to the nodes, starting from the ends of the
+	 * closest squares' corridors, and each neighbor's steps are those of the
+	 * nearer end plus the steps along its corridor, unless one of the closest
+	 * squares shares the corridor. The search is guided towards the ends of the
+	 * neighbors' corridors by the landmarks and by the distance across the board
+	 * with every edge wrapping around, which no tunnel can beat, and stops once
+	 * no neighbor could still be as few steps away as the nearest one. A Ghost on
+	 * a loop without any node has no graph to search, so nearest runs instead.
+	 */
+	public Direction toward(int square, Direction prevDir, int targetRow, int targetCol) {
+		Direction behind = prevDir.getOpposite();
+		_candidateCount = 0;
+		for (Direction dir : SEARCH_ORDER) {
+			int neighbor = _neighbors[square * DIRECTIONS.length + dir.ordinal()];
+			if (dir != behind && neighbor >= 0) {
+				_candidates[_candidateCount] = neighbor;
+				_candidateDirs[_candidateCount] = dir;
+				_candidateSteps[_candidateCount] = Integer.MAX_VALUE;
+				_candidateCount = _candidateCount + 1;
+			}
+		}
+		if (_candidateCount <= 1) { // Nothing to choose between
+			return _candidateCount == 0 ? null : _candidateDirs[0];
+		}
+		_goalCount = 0;
+		_boundCount = 0;
+		for (int i = 0; i < _candidateCount; i++) {
+			if (!this.locate(_candidates[i])) {
+				return this.nearest(square, prevDir, targetRow, targetCol);
+			}
+			_candidateEdges[i] = _locatedEdge;
+			_candidateOffsets[i] = _locatedOffset;
+			if (_locatedEdge < 0) {
+				this.addGoal(i, _junctions.getNodeIndex(_candidates[i]), 0);
+			} else {
+				this.addGoal(i, _locatedEdge / DIRECTIONS.length, _locatedOffset);
+				this.addGoal(i, _edgeEnds[_locatedEdge], _edgeLengths[_locatedEdge] - _locatedOffset);
+			}
+		}
+
+		this.nextGeneration();
+		_heapSize = 0;
+		_searchCount = _searchCount + 1;
+		this.findClosest(_maze.getPart(square), targetRow, targetCol);
+		int fewestSteps = Integer.MAX_VALUE;
+		for (int i = 0; i < _sourceCount; i++) {
+			this.locate(_sources[i]);
+			if (_locatedEdge < 0) {
+				this.reach(_junctions.getNodeIndex(_sources[i]), 0);
+				continue;
+			}
+			this.reach(_locatedEdge / DIRECTIONS.length, _locatedOffset);
+			this.reach(_edgeEnds[_locatedEdge], _edgeLengths[_locatedEdge] - _locatedOffset);
+			for (int j = 0; j < _candidateCount; j++) {
+				if (_candidateEdges[j] == _locatedEdge) { // Along the corridor, without passing either end
+					_candidateSteps[j] = Math.min(_candidateSteps[j], Math.abs(_candidateOffsets[j] - _locatedOffset));
+					fewestSteps = Math.min(fewestSteps, _candidateSteps[j]);
+				}
+			}
+		}
+		while (_heapSize > 0) {
+			long key = _heapKeys[0];
+			int current = this.popHeap();
+			if ((int) (key >>> 32) > fewestSteps) { // Nothing left can be as close as the nearest neighbor
+				break;
+			}
+			if (_closed[current] == _generation) {
+				continue;
+			}
+			_closed[current] = _generation;
+			_visitedCount = _visitedCount + 1;
+			int steps = _steps[current];
+			for (int i = 0; i < _goalCount; i++) {
+				if (_goalNodes[i] == current) {
+					int candidate = _goalCandidates[i];
+					_candidateSteps[candidate] = Math.min(_candidateSteps[candidate], steps + _goalOffsets[i]);
+					fewestSteps = Math.min(fewestSteps, _candidateSteps[candidate]);
+				}
+			}
+			int base = current * DIRECTIONS.length;
+			for (int i = 0; i < DIRECTIONS.length; i++) {
+				if (_edgeEnds[base + i] >= 0) {
+					this.reach(_edgeEnds[base + i], steps + _edgeLengths[base + i]);
+				}
+			}
+		}
+		for (int i = 0; i < _candidateCount; i++) {
+			if (_candidateSteps[i] == fewestSteps) {
+				return _candidateDirs[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Finds where the square lies in the JunctionGraph. A node is located as
+	 * itself, with no edge. Any other square has exactly two ways out, and
+	 * following both to the nodes at their ends names its corridor by the lower
+	 * of the two edges leaving those nodes into it, and the square by its steps
+	 * from that edge's node. Returns false if the square lies on a loop without
+	 * a node, or has no way out at all.
+	 */
+	private boolean locate(int square) {
+		_locatedEdge = -1;
+		_locatedOffset = 0;
+		if (_junctions.getNodeIndex(square) >= 0) {
+			return true;
+		}
+		int longest = _maze.getPartSize(_maze.getPart(square));
+		for (Direction first : DIRECTIONS) {
+			int current = _neighbors[square * DIRECTIONS.length + first.ordinal()];
+			if (current < 0) {
+				continue;
+			}
+			Direction dir = first;
+			int steps = 1;
+			while (_junctions.getNodeIndex(current) < 0) {
+				if (steps > longest) { // Around the loop and back again
+					return false;
+				}
+				dir = _junctions.corridorStep(current, dir);
+				current = _neighbors[current * DIRECTIONS.length + dir.ordinal()];
+				steps = steps + 1;
+			}
+			int edge = _junctions.getNodeIndex(current) * DIRECTIONS.length + dir.getOpposite().ordinal();
+			if (_locatedEdge < 0 || edge < _locatedEdge) {
+				_locatedEdge = edge;
+				_locatedOffset = steps;
+			}
+		}
+		return _locatedEdge >= 0;
+	}
+
+	/**
+	 * Records that the candidate is the given number of steps on from the node,
+	 * and keeps the node to guide the search by, with the fewest steps on of any
+	 * candidate it leads to.
+	 */
+	private void addGoal(int candidate, int node, int offset) {
+		_goalNodes[_goalCount] = node;
+		_goalOffsets[_goalCount] = offset;
+		_goalCandidates[_goalCount] = candidate;
+		_goalCount = _goalCount + 1;
+		for (int i = 0; i < _boundCount; i++) {
+			if (_boundNodes[i] == node) {
+				_boundOffsets[i] = Math.min(_boundOffsets[i], offset);
+				return;
+			}
+		}
+		int cell = _junctions.getNodeCell(node);
+		_boundNodes[_boundCount] = node;
+		_boundOffsets[_boundCount] = offset;
+		_boundRows[_boundCount] = _maze.getRow(cell);
+		_boundCols[_boundCount] = _maze.getCol(cell);
+		System.arraycopy(_landmarkSteps, node * _landmarkCount, _boundLandmarkSteps, _boundCount * _landmarkCount,
+				_landmarkCount);
+		_boundCount = _boundCount + 1;
+	}
+
+	/**
+	 * Collects the squares of the part closest to the target as the sources of
+	 * the search. A small part is simply scanned; on a large one, rings of
+	 * squares around the target are scanned outwards until no square on the next
+	 * ring could be as close as the closest found.
+	 */
+	private void findClosest(int part, int targetRow, int targetCol) {
+		_sourceCount = 0;
+		long closest = Long.MAX_VALUE;
+		int partSize = _maze.getPartSize(part);
+		if (partSize <= SCAN_PART_MAX) {
+			for (int i = 0; i < partSize; i++) {
+				closest = this.offerSource(_maze.getPartCell(part, i), part, targetRow, targetCol, closest);
+			}
+			return;
+		}
+		int radius = Math.max(Math.max(0, Math.max(-targetRow, targetRow - (_rows - 1))),
+				Math.max(-targetCol, targetCol - (_columns - 1)));
+		for (; (long) radius * radius <= closest; radius++) {
+			int top = targetRow - radius;
+			int bottom = targetRow + radius;
+			for (int col = Math.max(0, targetCol - radius); col <= Math.min(_columns - 1, targetCol + radius); col++) {
+				if (top >= 0) {
+					closest = this.offerSource(_maze.cell(top, col), part, targetRow, targetCol, closest);
+				}
+				if (bottom < _rows && radius > 0) {
+					closest = this.offerSource(_maze.cell(bottom, col), part, targetRow, targetCol, closest);
+				}
+			}
+			for (int row = Math.max(0, top + 1); row <= Math.min(_rows - 1, bottom - 1); row++) {
+				if (targetCol - radius >= 0) {
+					closest = this.offerSource(_maze.cell(row, targetCol - radius), part, targetRow, targetCol, closest);
+				}
+				if (targetCol + radius < _columns && radius > 0) {
+					closest = this.offerSource(_maze.cell(row, targetCol + radius), part, targetRow, targetCol, closest);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Keeps the square as a source if it is in the part and at least as close to
+	 * the target as the closest so far, dropping the sources it beats, and
+	 * returns the new closest squared distance.
+	 */
+	private long offerSource(int square, int part, int targetRow, int targetCol, long closest) {
+		if (_maze.getPart(square) != part) {
+			return closest;
+		}
+		long rowDist = _maze.getRow(square) - targetRow;
+		long colDist = _maze.getCol(square) - targetCol;
+		long dist = rowDist * rowDist + colDist * colDist;
+		if (dist > closest) {
+			return closest;
+		}
+		if (dist < closest) {
+			_sourceCount = 0;
+		}
+		if (_sourceCount == _sources.length) {
+			_sources = Arrays.copyOf(_sources, _sources.length * 2);
+		}
+		_sources[_sourceCount++] = square;
+		return dist;
+	}
+
+	/**
+	 * Records that the node can be reached in the given number of steps, unless
+	 * it already can in as few, and queues it on the heap by those steps plus
+	 * the fewest it could still take to reach any of the Ghost's neighbors. Ties
+	 * go to the node with more steps behind it, which is the one further along.
+	 */
+	private void reach(int node, int steps) {
+		if (_stamps[node] == _generation && _steps[node] <= steps) {
+			return;
+		}
+		_stamps[node] = _generation;
+		_steps[node] = steps;
+		long estimate = steps + this.remaining(node);
+		if (_heapSize == _heapKeys.length) {
+			_heapKeys = Arrays.copyOf(_heapKeys, _heapSize * 2);
+			_heapNodes = Arrays.copyOf(_heapNodes, _heapSize * 2);
+		}
+		long key = (estimate << 32) | (Integer.MAX_VALUE - steps);
+		int i = _heapSize;
+		_heapSize = _heapSize + 1;
+		while (i > 0 && _heapKeys[(i - 1) >>> 1] > key) {
+			_heapKeys[i] = _heapKeys[(i - 1) >>> 1];
+			_heapNodes[i] = _heapNodes[(i - 1) >>> 1];
+			i = (i - 1) >>> 1;
+		}
+		_heapKeys[i] = key;
+		_heapNodes[i] = node;
+	}
+
+	/**
+	 * Removes the node with the smallest key from the heap and returns it.
+	 */
+	private int popHeap() {
+		int top = _heapNodes[0];
+		_heapSize = _heapSize - 1;
+		long key = _heapKeys[_heapSize];
+		int node = _heapNodes[_heapSize];
+		int i = 0;
+		while (2 * i + 1 < _heapSize) {
+			int child = 2 * i + 1;
+			if (child + 1 < _heapSize && _heapKeys[child + 1] < _heapKeys[child]) {
+				child = child + 1;
+			}
+			if (_heapKeys[child] >= key) {
+				break;
+			}
+			_heapKeys[i] = _heapKeys[child];
+			_heapNodes[i] = _heapNodes[child];
+			i = child;
+		}
+		_heapKeys[i] = key;
+		_heapNodes[i] = node;
+		return top;
+	}
+
+	/**
+	 * Returns the fewest steps the node could be from any of the Ghost's
+	 * neighbors, which are only reached through the ends of their corridors.
+	 * One bound on the steps to an end is the distance in rows plus the
+	 * distance in columns, each the shorter way around the board: every move,
+	 * through a tunnel or not, changes one of them by at most one. The other is
+	 * the difference between the two nodes' steps to each landmark, which is far
+	 * tighter where walls force long detours. Neither ever overestimates, so
+	 * neither does the larger of the two. A portal can join squares far apart on
+	 * the board, so the first bound is left out on levels that have any.
+	 */
+	private int remaining(int node) {
+		int cell = _junctions.getNodeCell(node);
+		int row = _maze.getRow(cell);
+		int col = _maze.getCol(cell);
+		int base = node * _landmarkCount;
+		int fewest = Integer.MAX_VALUE;
+		for (int i = 0; i < _boundCount; i++) {
+			int bound = 0;
+			if (_gridBound) {
+				int rowDist = Math.abs(row - _boundRows[i]);
+				int colDist = Math.abs(col - _boundCols[i]);
+				bound = Math.min(rowDist, _rows - rowDist) + Math.min(colDist, _columns - colDist);
+			}
+			int boundBase = i * _landmarkCount;
+			for (int j = 0; j < _landmarkCount; j++) {
+				bound = Math.max(bound, Math.abs(_landmarkSteps[base + j] - _boundLandmarkSteps[boundBase + j]));
+			}
+			fewest = Math.min(fewest, bound + _boundOffsets[i]);
+		}
+		return fewest;
+	}
+}
@@ -0,0 +1,805 @@
+package Pacman;
+
+import java.util.Arrays;
+
+/**
+ * This class holds the rules of the game without any graphics: Pacman's and
+ * the Ghosts' positions as the Maze's cell indices, the remaining dots and
+ * energizers as BitBoards, the Ghosts' mode as an enum, and the counters,
+ * points, and lives. Nothing here touches JavaFX, so games can be run headless. Time is
+ * an integer count of ticks advanced by a TickScheduler, either paced by Game
+ * or run as fast as possible.
+ */
+public class Simulation {
+	private static final Direction[] DIRECTIONS = Direction.values();
+	private static final Mode[] MODES = Mode.values();
+
+	/*
+	 * Where each value lives in a SimulationState. Every Ghost's cell and
+	 * previous direction follow, then the dots' and energizers' packed bits
+	 */
+	private static final int TICK = 0;
+	private static final int PAC_CELL = 1;
+	private static final int DIRECTION = 2;
+	private static final int MODE = 3;
+	private static final int GHOST_COUNT = 4;
+	private static final int FRIGHTENED_COUNT = 5;
+	private static final int DOT_ENERG_COUNT = 6;
+	private static final int PEN_COUNT = 7;
+	private static final int POINTS = 8;
+	private static final int LIVES = 9;
+	private static final int RANDOM = 10;
+	private static final int PEN_SIZE = 11;
+	private static final int PEN = 12;
+	private static final int GHOSTS = 13;
+	private static final int PEN_BITS = 2;
+	private static final long PEN_MASK = (1L << PEN_BITS) - 1;
+	private static final int PEN_CAPACITY = Long.SIZE / PEN_BITS;
+
+	private Maze _maze;
+	private SearchContext _searchContext;
+	private BitBoard _dots;
+	private BitBoard _energizers;
+	private int _pacCell;
+	private Direction _direction;
+	private Ghost _blinky;
+	private Ghost _pinky;
+	private Ghost _inky;
+	private Ghost _clyde;
+	private Ghost[] _ghosts;
+	private FlowField[] _cornerFields;
+	private Mode _mode;
+	private int _ghostCount;
+	private int _frightenedCount;
+	private int _dotEnergCount;
+	private long _pen;
+	private int _penSize;
+	private int _penCount;
+	private int _points;
+	private int _lives;
+	private long _tick;
+	private GameRandom _random;
+	private Instrumentation _instrumentation;
+	private int _targetRow;
+	private int _targetCol;
+	private EventLog _events;
+	private EventListener[] _listeners;
+	private byte[] _occupancy; // Bit i of a cell's byte is set while Ghost i is on it
+
+	/**
+	 * Makes a game on the maze with an arbitrary seed, for games that do not need
+	 * to be replayed.
+	 */
+	public Simulation(Maze maze) {
+		this(maze, System.nanoTime());
+	}
+
+	/**
+	 * Makes a game on the maze with the given seed and a SearchContext of its
+	 * own.
+	 */
+	public Simulation(Maze maze, long seed) {
+		this(maze, seed, new SearchContext(maze));
+	}
+
+	/**
+	 * Copies the maze's dots and energizers so that they can be eaten, places
+	 * Pacman on his starting square, places Blinky outside of the pen and the
+	 * other three Ghosts inside of it, and assigns the mode and counters to
+	 * their initial values. The seed starts this game's own GameRandom, so two
+	 * games with the same seed and inputs play out the same way. Games that take
+	 * turns on one thread can share one SearchContext for the maze, since it
+	 * holds nothing between searches.
+	 */
+	public Simulation(Maze maze, long seed, SearchContext searchContext) {
+		if (searchContext.getMaze() != maze) {
+			throw new IllegalArgumentException("The SearchContext searches a different Maze from the game's");
+		}
+		_maze = maze;
+		_searchContext = searchContext;
+		_events = new EventLog();
+		_listeners = new EventListener[0];
+		_dots = new BitBoard(maze.getDots());
+		_energizers = new BitBoard(maze.getEnergizers());
+		_pacCell = maze.getPacStart();
+
+		int lastRow = maze.getRows() - 1;
+		int lastCol = maze.getColumns() - 1;
+		int[] cornerRows = { 0, 0, lastRow, lastRow };
+		int[] cornerCols = { 0, lastCol, 0, lastCol };
+		_cornerFields = new FlowField[cornerRows.length];
+		for (int i = 0; i < cornerRows.length; i++) {
+			_cornerFields[i] = maze.flowField(cornerRows[i], cornerCols[i]);
+		}
+
+		/*
+		 * Blinky targets Pacman's square, Pinky two squares to his right, Inky four
+		 * squares above him, and Clyde three below and three to his left. Each
+		 * scatters to its own corner.
+		 */
+		int penCell = maze.getGhostStart();
+		_blinky = new Ghost(this, maze.getPenExit(), 0, 0, cornerRows[0], cornerCols[0]);
+		_pinky = new Ghost(this, penCell - 1, 0, 2, cornerRows[1], cornerCols[1]);
+		_inky = new Ghost(this, penCell, -4, 0, cornerRows[2], cornerCols[2]);
+		_clyde = new Ghost(this, penCell + 1, 3, -3, cornerRows[3], cornerCols[3]);
+		_ghosts = new Ghost[] { _blinky, _pinky, _inky, _clyde };
+		_occupancy = new byte[maze.getCells()];
+		for (int i = 0; i < _ghosts.length; i++) {
+			_occupancy[_ghosts[i].getCell()] |= 1 << i;
+		}
+		this.fillPen();
+
+		_mode = Mode.CHASE;
+		_ghostCount = 1;
+		_frightenedCount = 1;
+		_dotEnergCount = maze.getDotEnergCount();
+		_penCount = 0;
+		_points = 0;
+		_lives = Constants.START_LIVES;
+		_tick = 0;
+		_random = new GameRandom(seed);
+	}
+
+	/**
+	 * Advances the game's clock by one tick. Speeds are expressed as ticks per
+	 * move, so Pacman moves every PAC_TICKS ticks and the pen and Ghosts are
+	 * updated every GHOST_TICKS ticks. Within a tick, Pacman always moves first,
+	 * then the pen releases a Ghost, then the Ghosts move. Each of these is timed
+	 * if an Instrumentation is set, and the tick is a Flight Recorder event. The
+	 * tick's events are handed out at the end of it.
+	 */
+	public void tick() {
+		if (this.isOver()) {
+			return;
+		}
+		GameEvents.Tick event = new GameEvents.Tick();
+		if (event.isEnabled()) {
+			event.begin();
+		}
+		long tickStart = _instrumentation == null ? 0 : _instrumentation.beginTick();
+		_tick = _tick + 1;
+		if (_tick % Constants.PAC_TICKS == 0) {
+			long start = _instrumentation == null ? 0 : _instrumentation.begin();
+			this.movePacman();
+			if (_instrumentation != null) {
+				_instrumentation.end(Phase.PACMAN, start);
+			}
+		}
+		if (_tick % Constants.GHOST_TICKS == 0) {
+			long start = _instrumentation == null ? 0 : _instrumentation.begin();
+			this.updatePen();
+			if (_instrumentation != null) {
+				_instrumentation.end(Phase.PEN, start);
+				start = _instrumentation.begin();
+			}
+			this.moveGhosts();
+			if (_instrumentation != null) {
+				_instrumentation.end(Phase.GHOSTS, start);
+			}
+		}
+		if (_events.getCount() > 0) {
+			this.publishEvents();
+		}
+		if (_instrumentation != null) {
+			_instrumentation.endTick(tickStart);
+		}
+		if (event.shouldCommit()) {
+			event.tick = _tick;
+			event.pacmanMoved = _tick % Constants.PAC_TICKS == 0;
+			event.ghostsMoved = _tick % Constants.GHOST_TICKS == 0;
+			event.mode = _mode.name();
+			event.points = _points;
+			event.lives = _lives;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Changes the direction Pacman keeps moving in, but only if he is able to
+	 * move that way from where he is.
+	 */
+	public void setDirection(Direction direction) {
+		if (_maze.canMove(_pacCell, direction)) {
+			_direction = direction;
+		}
+	}
+
+	/**
+	 * Moves Pacman one square in his current direction unless a wall is in the
+	 * way, then resolves what he ran into. A Ghost already on his square, as a
+	 * restored state may leave one, is resolved before he can walk away from
+	 * it. Pacman will continue moving in a direction as long as it does not
+	 * change.
+	 */
+	public void movePacman() {
+		if (this.isOver() || _direction == null) {
+			return;
+		}
+		if (_occupancy[_pacCell] != 0) {
+			this.checkCollision();
+			if (this.isOver() || _direction == null) { // Caught, so everyone is back on their starting squares
+				return;
+			}
+		}
+		int next = _maze.neighbor(_pacCell, _direction);
+		if (next >= 0) {
+			_pacCell = next;
+		}
+		this.checkCollision();
+	}
+
+	/**
+	 * Switches modes upon reaching a designated count, moves every Ghost once
+	 * according to the mode, resolves what ran into Pacman, and increments the
+	 * counter of the current mode. A Ghost already on Pacman's square is
+	 * resolved before it can walk away from him.
+	 */
+	public void moveGhosts() {
+		if (this.isOver()) {
+			return;
+		}
+		if (_occupancy[_pacCell] != 0) {
+			this.checkCollision();
+			if (this.isOver()) {
+				return;
+			}
+		}
+		if (_mode != Mode.FRIGHTENED) {
+			if (_ghostCount == Constants.SCATTER_START) {
+				/*
+				 * The game starts in chase mode and switches to scatter after 20 seconds
+				 */
+				this.makeScatter();
+			}
+			if (_ghostCount == Constants.SCATTER_END) {
+				/*
+				 * The game switches back to chase mode after 7 seconds and the original cycle
+				 * starts again
+				 */
+				this.makeChase();
+				_ghostCount = 1;
+			}
+		} else if (_frightenedCount == Constants.FRIGHTENED_END) {
+			/*
+			 * After 7 seconds, chase resumes
+			 */
+			this.makeChase();
+			_frightenedCount = 1;
+		}
+
+		for (int i = 0; i < _ghosts.length; i++) {
+			this.moveGhost(i);
+		}
+		this.checkCollision();
+
+		if (_mode != Mode.FRIGHTENED) {
+			_ghostCount = _ghostCount + 1;
+		} else {
+			_frightenedCount = _frightenedCount + 1;
+		}
+	}
+
+	/**
+	 * Releases the Ghost at the front of the pen to the square outside of it
+	 * upon reaching a designated count, resolving Pacman's square if he is
+	 * there, and increments the pen's counter.
+	 */
+	public void updatePen() {
+		if (this.isOver()) {
+			return;
+		}
+		if (_penCount == Constants.PEN_RELEASE) { // Releases a Ghost only upon reaching this count
+			if (_penSize > 0) { // Releases a Ghost only if there is one
+				int released = (int) (_pen & PEN_MASK);
+				_pen = _pen >>> PEN_BITS;
+				_penSize = _penSize - 1;
+				this.placeGhost(released, _maze.getPenExit());
+				_penCount = 0;
+				this.checkCollision();
+			}
+		}
+		if (_penCount > Constants.PEN_RELEASE) { // Ensures the pen can reach the count again
+			_penCount = 0;
+		}
+		_penCount = _penCount + 1;
+	}
+
+	/**
+	 * The one movement step shared by every Ghost in every mode. A Ghost in a
+	 * corridor simply follows it; only on a junction does it decide, towards a
+	 * target that depends on the mode. The Ghost is then moved one square that
+	 * way unless a wall is in the way; what it runs into is resolved once every
+	 * Ghost has moved. Every decision is a Flight Recorder event.
+	 */
+	private void moveGhost(int i) {
+		Ghost ghost = _ghosts[i];
+		Direction nextDir = ghost.followCorridor();
+		if (nextDir == null) {
+			GameEvents.GhostDecision event = new GameEvents.GhostDecision();
+			if (event.isEnabled()) {
+				event.begin();
+			}
+			int cell = ghost.getCell();
+			long searches = _searchContext.getSearchCount();
+			long visited = _searchContext.getVisitedCount();
+			long start = _instrumentation == null ? 0 : _instrumentation.begin();
+			nextDir = this.decideGhost(ghost);
+			if (_instrumentation != null) {
+				_instrumentation.end(Phase.GHOST_DECISION, start);
+			}
+			if (event.shouldCommit()) {
+				event.ghost = i;
+				event.row = _maze.getRow(cell);
+				event.column = _maze.getCol(cell);
+				event.targetRow = _targetRow;
+				event.targetColumn = _targetCol;
+				event.mode = _mode.name();
+				event.direction = nextDir == null ? null : nextDir.name();
+				event.searched = _searchContext.getSearchCount() != searches;
+				event.visited = _searchContext.getVisitedCount() - visited;
+				event.commit();
+			}
+		}
+		if (nextDir == null) {
+			return;
+		}
+		int next = _maze.neighbor(ghost.getCell(), nextDir);
+		if (next >= 0) {
+			this.placeGhost(i, next);
+		}
+	}
+
+	/**
+	 * Moves the ith Ghost to the cell and keeps the occupancy of both cells up
+	 * to date. Every Ghost move goes through here.
+	 */
+	private void placeGhost(int i, int cell) {
+		_occupancy[_ghosts[i].getCell()] &= ~(1 << i);
+		_ghosts[i].setCell(cell);
+		_occupancy[cell] |= 1 << i;
+	}
+
+
+	/**
+	 * Picks the target of a Ghost on a junction and asks the Ghost which way to
+	 * move towards it. In chase mode a Ghost targets Pacman's square shifted by
+	 * its own chase offset, in scatter mode its own corner, and when frightened
+	 * one of the four corners at random, so that it turns randomly at every
+	 * intersection. The corners never move, so those two modes read the maze's
+	 * shared FlowFields instead of searching.
+	 */
+	private Direction decideGhost(Ghost ghost) {
+		FlowField field;
+		if (_mode == Mode.CHASE) {
+			_targetRow = _maze.getRow(_pacCell) + ghost.getChaseRowOffset();
+			_targetCol = _maze.getCol(_pacCell) + ghost.getChaseColOffset();
+			return ghost.nextDirection(_targetRow, _targetCol);
+		} else if (_mode == Mode.SCATTER) {
+			field = ghost.getScatterField();
+		} else {
+			field = _cornerFields[_random.nextInt(_cornerFields.length)];
+		}
+		_targetRow = field.getTargetRow();
+		_targetCol = field.getTargetCol();
+		return ghost.nextDirection(field);
+	}
+
+	/**
+	 * Resolves everything Pacman met during a movement phase, once the phase
+	 * is over. A dot or energizer on his square is eaten and its points added,
+	 * and an energizer makes the Ghosts frightened. The Ghosts on his square are
+	 * found from its occupancy bits without looking at any other Ghost. Only one
+	 * side moves in a phase, one square at a time, so a Ghost and Pacman can
+	 * never pass through each other without sharing a square. Each Ghost there,
+	 * in order, either catches Pacman, costing a life and resetting everyone's
+	 * positions, or, if frightened, is eaten for points and sent back to the
+	 * pen. Each of these is appended to the EventLog as it happens. Left
+	 * package-private so that the benchmarks can time it on its own.
+	 */
+	void checkCollision() {
+		long start = _instrumentation == null ? 0 : _instrumentation.begin();
+		if (_dots.testAndClear(_pacCell)) {
+			_points = _points + Constants.DOT_POINTS;
+			_dotEnergCount = _dotEnergCount - 1;
+			_events.add(EventType.DOT_EATEN, _pacCell, -1, Constants.DOT_POINTS);
+		}
+		if (_energizers.testAndClear(_pacCell)) {
+			_points = _points + Constants.ENERGIZER_POINTS;
+			_dotEnergCount = _dotEnergCount - 1;
+			_events.add(EventType.ENERGIZER_EATEN, _pacCell, -1, Constants.ENERGIZER_POINTS);
+			this.makeFrightened();
+		}
+		int met = _occupancy[_pacCell];
+		while (met != 0) {
+			int i = Integer.numberOfTrailingZeros(met);
+			met = met & (met - 1);
+			if (_mode == Mode.FRIGHTENED) {
+				_points = _points + Constants.GHOST_POINTS;
+				_events.add(EventType.GHOST_EATEN, _pacCell, i, Constants.GHOST_POINTS);
+				this.placeGhost(i, _maze.getGhostStart());
+				if (_penSize < PEN_CAPACITY) { // The pen is open, so a Ghost left out still walks out of it
+					_pen = _pen | ((long) i << (_penSize * PEN_BITS));
+					_penSize = _penSize + 1;
+				}
+				_penCount = 0;
+			} else {
+				_events.add(EventType.PACMAN_CAUGHT, _pacCell, i, 0);
+				this.loseLife();
+				break; // Everyone has been reset, so no other Ghost can be here
+			}
+		}
+		if (_instrumentation != null) {
+			_instrumentation.end(Phase.COLLISION, start);
+		}
+	}
+
+	/**
+	 * Hands the tick's events to every EventListener in the order they were
+	 * added, commits a Flight Recorder event for each if they are being
+	 * recorded, and clears the EventLog.
+	 */
+	private void publishEvents() {
+		for (EventListener listener : _listeners) {
+			listener.handle(this, _events);
+		}
+		for (int i = 0; i < _events.getCount(); i++) {
+			GameEvents.Collision event = new GameEvents.Collision();
+			if (!event.shouldCommit()) {
+				break;
+			}
+			event.kind = _events.getType(i).name();
+			event.row = _maze.getRow(_events.getCell(i));
+			event.column = _maze.getCol(_events.getCell(i));
+			event.ghost = _events.getGhost(i);
+			event.points = _events.getPoints(i);
+			event.lives = _lives;
+			event.commit();
+		}
+		_events.clear();
+	}
+
+	/**
+	 * Adds a listener to hear about every event from now on, at the end of each
+	 * tick. Listeners run on the thread running the game and must not change
+	 * it.
+	 */
+	public void addListener(EventListener listener) {
+		_listeners = Arrays.copyOf(_listeners, _listeners.length + 1);
+		_listeners[_listeners.length - 1] = listener;
+	}
+
+	/**
+	 * Stops a listener added before from hearing about events.
+	 */
+	public void removeListener(EventListener listener) {
+		for (int i = 0; i < _listeners.length; i++) {
+			if (_listeners[i] == listener) {
+				EventListener[] listeners = new EventListener[_listeners.length - 1];
+				System.arraycopy(_listeners, 0, listeners, 0, i);
+				System.arraycopy(_listeners, i + 1, listeners, i, listeners.length - i);
+				_listeners = listeners;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Puts Pacman on the given cell without checking for collisions. Used by the
+	 * benchmarks.
+	 */
+	void placePacman(int cell) {
+		_pacCell = cell;
+	}
+
+	/**
+	 * Puts every dot and energizer of the maze back. Used by the benchmarks.
+	 */
+	void restorePickups() {
+		_dots.copyFrom(_maze.getDots());
+		_energizers.copyFrom(_maze.getEnergizers());
+		_dotEnergCount = _maze.getDotEnergCount();
+	}
+
+	/**
+	 * Decrements the lives, puts Pacman back on his starting square without a
+	 * direction, puts Blinky back outside of the pen and the other Ghosts back in
+	 * it, and resets the pen's counter.
+	 */
+	private void loseLife() {
+		_lives = _lives - 1;
+		_pacCell = _maze.getPacStart();
+		_direction = null;
+		int penCell = _maze.getGhostStart();
+		this.placeGhost(0, _maze.getPenExit());
+		this.placeGhost(1, penCell - 1);
+		this.placeGhost(2, penCell);
+		this.placeGhost(3, penCell + 1);
+		this.fillPen();
+		_penCount = 0;
+	}
+
+	/**
+	 * Puts Pinky, Inky, and Clyde in the pen in the order they are released. The
+	 * pen is a queue of indices into the Array of Ghosts packed two bits each
+	 * into one long, with the front in the lowest bits. A Ghost that leaves the
+	 * open pen on its own is not taken off it, so it can be queued more than
+	 * once; the long holds 32 entries, far more than a game ever queues.
+	 */
+	private void fillPen() {
+		_pen = 1 | (2 << PEN_BITS) | (3 << (2 * PEN_BITS));
+		_penSize = 3;
+	}
+
+	/**
+	 * Returns how many longs a SimulationState of this game holds, which is the
+	 * same for every game on a maze of the same size.
+	 */
+	int getStateLength() {
+		return GHOSTS + _ghosts.length * 2 + _dots.getWordCount() * 2;
+	}
+
+	/**
+	 * Copies the whole state of the game into the SimulationState: Pacman,
+	 * every Ghost and its previous direction, the pen, the mode and its
+	 * counters, the dots and energizers left, points, lives, and the state of
+	 * the game's GameRandom. Nothing is allocated, so a lookahead Agent can save
+	 * a state before every rollout. The maze and the SearchContext are not part
+	 * of it, since they never hold anything between moves.
+	 */
+	public void save(SimulationState state) {
+		long[] values = state.getValues();
+		values[TICK] = _tick;
+		values[PAC_CELL] = _pacCell;
+		values[DIRECTION] = _direction == null ? -1 : _direction.ordinal();
+		values[MODE] = _mode.ordinal();
+		values[GHOST_COUNT] = _ghostCount;
+		values[FRIGHTENED_COUNT] = _frightenedCount;
+		values[DOT_ENERG_COUNT] = _dotEnergCount;
+		values[PEN_COUNT] = _penCount;
+		values[POINTS] = _points;
+		values[LIVES] = _lives;
+		values[RANDOM] = _random.getState();
+		values[PEN_SIZE] = _penSize;
+		values[PEN] = _pen;
+		int index = GHOSTS;
+		for (Ghost ghost : _ghosts) {
+			values[index] = ghost.getCell();
+			values[index + 1] = ghost.getPrevDir().ordinal();
+			index = index + 2;
+		}
+		_dots.copyTo(values, index);
+		_energizers.copyTo(values, index + _dots.getWordCount());
+	}
+
+	/**
+	 * Puts the game back into a state saved by save, from this game or from any
+	 * other game on the same maze, after which it plays out exactly as the saved
+	 * game did given the same directions.
+	 */
+	public void restore(SimulationState state) {
+		long[] values = state.getValues();
+		if (values.length != this.getStateLength()) {
+			throw new IllegalArgumentException("The state was not saved from a game on a maze of this size");
+		}
+		_tick = values[TICK];
+		_pacCell = (int) values[PAC_CELL];
+		_direction = values[DIRECTION] < 0 ? null : DIRECTIONS[(int) values[DIRECTION]];
+		_mode = MODES[(int) values[MODE]];
+		_ghostCount = (int) values[GHOST_COUNT];
+		_frightenedCount = (int) values[FRIGHTENED_COUNT];
+		_dotEnergCount = (int) values[DOT_ENERG_COUNT];
+		_penCount = (int) values[PEN_COUNT];
+		_points = (int) values[POINTS];
+		_lives = (int) values[LIVES];
+		_random.setState(values[RANDOM]);
+		_penSize = (int) values[PEN_SIZE];
+		_pen = values[PEN];
+		int index = GHOSTS;
+		for (int i = 0; i < _ghosts.length; i++) {
+			this.placeGhost(i, (int) values[index]);
+			_ghosts[i].setPrevDir(DIRECTIONS[(int) values[index + 1]]);
+			index = index + 2;
+		}
+		_dots.copyFrom(values, index);
+		_energizers.copyFrom(values, index + _dots.getWordCount());
+	}
+
+	/**
+	 * Switches the game to chase mode.
+	 */
+	private void makeChase() {
+		this.switchMode(Mode.CHASE);
+	}
+
+	/**
+	 * Switches the game to scatter mode.
+	 */
+	private void makeScatter() {
+		this.switchMode(Mode.SCATTER);
+	}
+
+	/**
+	 * Switches the game to frightened mode, which an energizer eaten while
+	 * frightened switches to again.
+	 */
+	private void makeFrightened() {
+		this.switchMode(Mode.FRIGHTENED);
+	}
+
+	/**
+	 * Switches the game to the given mode, as a Flight Recorder event.
+	 */
+	private void switchMode(Mode mode) {
+		GameEvents.ModeSwitch event = new GameEvents.ModeSwitch();
+		if (event.shouldCommit()) {
+			event.from = _mode.name();
+			event.to = mode.name();
+			event.tick = _tick;
+			event.commit();
+		}
+		_mode = mode;
+	}
+
+	/**
+	 * Has the game time every phase of its ticks into the Instrumentation, and
+	 * count its events there, from now on, or stop if it is null.
+	 */
+	public void setInstrumentation(Instrumentation instrumentation) {
+		if (_instrumentation != null) {
+			this.removeListener(_instrumentation);
+		}
+		_instrumentation = instrumentation;
+		if (instrumentation != null) {
+			this.addListener(instrumentation);
+		}
+	}
+
+	/**
+	 * Returns the Instrumentation the game is timed with, or null if it is not.
+	 */
+	public Instrumentation getInstrumentation() {
+		return _instrumentation;
+	}
+
+	/**
+	 * Checks whether something on the given cell can move one step in the given
+	 * direction.
+	 */
+	public boolean canMove(int cell, Direction dir) {
+		return _maze.canMove(cell, dir);
+	}
+
+	/**
+	 * Returns whether the game has been lost or won.
+	 */
+	public boolean isOver() {
+		return this.isLost() || this.isWon();
+	}
+
+	/**
+	 * Returns whether Pacman has run out of lives.
+	 */
+	public boolean isLost() {
+		return _lives == 0;
+	}
+
+	/**
+	 * Returns whether every dot and energizer has been eaten.
+	 */
+	public boolean isWon() {
+		return _dotEnergCount == 0;
+	}
+
+	/**
+	 * Returns how many ticks have been run.
+	 */
+	public long getTick() {
+		return _tick;
+	}
+
+	/**
+	 * Returns the game's own random number generator.
+	 */
+	public GameRandom getRandom() {
+		return _random;
+	}
+
+	/**
+	 * Returns the maze being played.
+	 */
+	public Maze getMaze() {
+		return _maze;
+	}
+
+	/**
+	 * Returns the search working memory shared by the Ghosts, and by any other
+	 * game given the same one.
+	 */
+	public SearchContext getSearchContext() {
+		return _searchContext;
+	}
+
+	/**
+	 * Returns the BitBoard of dots not yet eaten. It must not be changed.
+	 */
+	public BitBoard getDots() {
+		return _dots;
+	}
+
+	/**
+	 * Returns the BitBoard of energizers not yet eaten. It must not be changed.
+	 */
+	public BitBoard getEnergizers() {
+		return _energizers;
+	}
+
+	/**
+	 * Returns whether the square still has its dot.
+	 */
+	public boolean hasDot(int row, int col) {
+		return _dots.get(row, col);
+	}
+
+	/**
+	 * Returns whether the square still has its energizer.
+	 */
+	public boolean hasEnergizer(int row, int col) {
+		return _energizers.get(row, col);
+	}
+
+	/**
+	 * Returns Pacman's cell.
+	 */
+	public int getPacCell() {
+		return _pacCell;
+	}
+
+	/**
+	 * Returns Pacman's row.
+	 */
+	public int getPacRow() {
+		return _maze.getRow(_pacCell);
+	}
+
+	/**
+	 * Returns Pacman's column.
+	 */
+	public int getPacCol() {
+		return _maze.getCol(_pacCell);
+	}
+
+	/**
+	 * Returns the direction Pacman is moving in, or null if he is not moving.
+	 */
+	public Direction getDirection() {
+		return _direction;
+	}
+
+	/**
+	 * Returns the Ghosts in the order Blinky, Pinky, Inky, Clyde.
+	 */
+	public Ghost[] getGhosts() {
+		return _ghosts;
+	}
+
+	/**
+	 * Returns the mode the Ghosts are in.
+	 */
+	public Mode getMode() {
+		return _mode;
+	}
+
+	/**
+	 * Returns the points scored so far.
+	 */
+	public int getPoints() {
+		return _points;
+	}
+
+	/**
+	 * Returns the lives left.
+	 */
+	public int getLives() {
+		return _lives;
+	}
+}
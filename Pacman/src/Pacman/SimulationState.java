@@ -0,0 +1,38 @@
+package Pacman;
+
+/**
+ * The whole state of a game in one flat Array of longs, for lookahead Agents
+ * that play many rollouts from the same point. A Simulation saves into a
+ * SimulationState and restores from one without allocating anything, and a
+ * state can be copied into another with a single Array copy, so a search tree
+ * can keep one per node. The maze is not part of it, so a state can be
+ * restored into any game on the same maze. On the support map a state is 39
+ * longs; the dots and energizers take one long per 64 squares each.
+ */
+public class SimulationState {
+	private long[] _values;
+
+	/**
+	 * Makes a state sized for games like the given Simulation and saves its
+	 * current state into it.
+	 */
+	public SimulationState(Simulation simulation) {
+		_values = new long[simulation.getStateLength()];
+		simulation.save(this);
+	}
+
+	/**
+	 * Overwrites this state with another saved from a game on the same maze.
+	 */
+	public void copyFrom(SimulationState other) {
+		System.arraycopy(other._values, 0, _values, 0, _values.length);
+	}
+
+	/**
+	 * Returns the Array the values are kept in, laid out as Simulation's save
+	 * method writes them.
+	 */
+	long[] getValues() {
+		return _values;
+	}
+}
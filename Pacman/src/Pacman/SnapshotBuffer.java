@@ -0,0 +1,53 @@
+package Pacman;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands GameSnapshots from the simulation thread to the JavaFX Application
+ * Thread without locks, using three snapshots. The simulation thread fills the
+ * back snapshot and publishes it by swapping it with the middle one; the
+ * renderer takes the middle snapshot by swapping it with the front one it held.
+ * Both swaps are a single atomic getAndSet on the index of the middle snapshot,
+ * so neither thread ever waits for the other, the renderer always gets the
+ * latest published tick, and a snapshot is never written while it is read.
+ */
+public class SnapshotBuffer {
+	private static final int INDEX_MASK = 3;
+	private static final int FRESH = 4;
+
+	private GameSnapshot[] _snapshots;
+	private AtomicInteger _middle;
+	private int _back;
+	private int _front;
+
+	/**
+	 * Makes the three snapshots for the given maze.
+	 */
+	public SnapshotBuffer(Maze maze) {
+		_snapshots = new GameSnapshot[] { new GameSnapshot(maze), new GameSnapshot(maze), new GameSnapshot(maze) };
+		_front = 0;
+		_middle = new AtomicInteger(1);
+		_back = 2;
+	}
+
+	/**
+	 * Captures the Simulation into the back snapshot and publishes it. Only to be
+	 * called by the simulation thread.
+	 */
+	public void publish(Simulation simulation) {
+		_snapshots[_back].capture(simulation);
+		_back = _middle.getAndSet(_back | FRESH) & INDEX_MASK;
+	}
+
+	/**
+	 * Returns the latest published snapshot, or the one returned last time if
+	 * nothing has been published since. Only to be called by the JavaFX
+	 * Application Thread. The snapshot stays unchanged until the next call.
+	 */
+	public GameSnapshot acquire() {
+		if ((_middle.get() & FRESH) != 0) {
+			_front = _middle.getAndSet(_front) & INDEX_MASK;
+		}
+		return _snapshots[_front];
+	}
+}
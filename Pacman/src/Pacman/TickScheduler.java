@@ -0,0 +1,103 @@
+package Pacman;
+
+/**
+ * Advances a Simulation one tick at a time on its shared integer clock. The
+ * scheduler can be paced by the wall clock, sleeping between ticks on the
+ * calling thread, or it can run ticks back to back as fast as possible for
+ * headless games. In every case the Simulation sees the same sequence of
+ * ticks, so the outcome of a game does not depend on how fast it was run.
+ */
+public class TickScheduler {
+	private static final long NANOS_PER_SECOND = 1000000000L;
+	private static final int MAX_CATCH_UP = 10;
+
+	private Simulation _simulation;
+	private long _tickNanos;
+
+	/**
+	 * Takes in the Simulation to advance and converts the duration of a tick to
+	 * nanoseconds.
+	 */
+	public TickScheduler(Simulation simulation) {
+		_simulation = simulation;
+		_tickNanos = (long) (Constants.TICK_DURATION * NANOS_PER_SECOND);
+	}
+
+	/**
+	 * Runs ticks back to back until the game is over or maxTicks have been run,
+	 * and returns how many were run.
+	 */
+	public long runUnpaced(long maxTicks) {
+		long ticks = 0;
+		while (ticks < maxTicks && !_simulation.isOver()) {
+			_simulation.tick();
+			ticks = ticks + 1;
+		}
+		return ticks;
+	}
+
+	/**
+	 * Runs ticks back to back as above, asking the Agent which way Pacman should
+	 * turn before every tick.
+	 */
+	public long runUnpaced(long maxTicks, Agent agent) {
+		long ticks = 0;
+		while (ticks < maxTicks && !_simulation.isOver()) {
+			Direction direction = agent.chooseDirection(_simulation);
+			if (direction != null) {
+				_simulation.setDirection(direction);
+			}
+			_simulation.tick();
+			ticks = ticks + 1;
+		}
+		return ticks;
+	}
+
+	/**
+	 * Runs ticks at the pace of the wall clock on the calling thread until the
+	 * game is over or maxTicks have been run, sleeping while no tick is owed, and
+	 * returns how many were run. An interrupt stops the run early and is passed on
+	 * to the caller.
+	 */
+	public long runRealTime(long maxTicks) {
+		return this.runRealTime(maxTicks, null, null);
+	}
+
+	/**
+	 * Runs ticks at the pace of the wall clock as above, asking the Agent, if
+	 * there is one, which way Pacman should turn before every tick, and running
+	 * afterTick, if there is one, after every tick. If the thread falls more than
+	 * MAX_CATCH_UP ticks behind, the clock is moved up instead of running the
+	 * missed ticks back to back.
+	 */
+	public long runRealTime(long maxTicks, Agent agent, Runnable afterTick) {
+		long ticks = 0;
+		long nextNanos = System.nanoTime() + _tickNanos;
+		while (ticks < maxTicks && !_simulation.isOver()) {
+			long waitNanos = nextNanos - System.nanoTime();
+			if (waitNanos > 0) {
+				try {
+					Thread.sleep(waitNanos / 1000000L, (int) (waitNanos % 1000000L));
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			} else if (-waitNanos > MAX_CATCH_UP * _tickNanos) { // Too far behind to catch up
+				nextNanos = System.nanoTime();
+			}
+			if (agent != null) {
+				Direction direction = agent.chooseDirection(_simulation);
+				if (direction != null) {
+					_simulation.setDirection(direction);
+				}
+			}
+			_simulation.tick();
+			if (afterTick != null) {
+				afterTick.run();
+			}
+			ticks = ticks + 1;
+			nextNanos = nextNanos + _tickNanos;
+		}
+		return ticks;
+	}
+}
@@ -0,0 +1,269 @@
+package Pacman;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * A batch of games on one Maze behind the reset and step calls of a
+ * reinforcement learning environment. An action is the ordinal of the
+ * Direction Pacman should turn to, or NO_ACTION to keep his direction, and one
+ * step runs the PAC_TICKS ticks in which Pacman makes exactly one move. The
+ * reward of a step is the points scored during it, using the same point values
+ * as the game itself. A game that ends is reset with a new seed straight away,
+ * so every step has an observation of a game in progress.
+ *
+ * Observations are written into a direct ByteBuffer or FloatBuffer given by
+ * the caller, so nothing is copied out and nothing is allocated per step. For
+ * every game there are CHANNELS planes of one value per cell: walls, dots,
+ * energizers, each Ghost in the order Blinky, Pinky, Inky, Clyde, Pacman, and
+ * the mode's ordinal on every cell. Value (game * CHANNELS + channel) * cells +
+ * cell is at that index of the buffer. Each game remembers what it last wrote,
+ * so a step only rewrites the cells that changed: the cells the Ghosts and
+ * Pacman left and entered, the pickups eaten, found by comparing BitBoards 64
+ * squares at a time, and the mode plane only when the mode changes.
+ */
+public class VectorEnv {
+	public static final int NO_ACTION = -1;
+	public static final int WALLS = 0;
+	public static final int DOTS = 1;
+	public static final int ENERGIZERS = 2;
+	public static final int GHOSTS = 3;
+	public static final int PACMAN = GHOSTS + Constants.NUM_GHOSTS;
+	public static final int MODE = PACMAN + 1;
+	public static final int CHANNELS = MODE + 1;
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private Maze _maze;
+	private int _cells;
+	private long _maxTicks;
+	private Simulation[] _simulations;
+	private SimulationState _start;
+	private long[] _seeds;
+	private ByteBuffer _bytes;
+	private FloatBuffer _floats;
+	private BitBoard[] _seenDots;
+	private BitBoard[] _seenEnergizers;
+	private int[] _seenCells;
+	private Mode[] _seenModes;
+
+	/**
+	 * Makes the given number of games on the maze. They are stepped one after
+	 * another, so they share one SearchContext. A game that has not ended after
+	 * maxTicks ticks is reported done and reset like one that has.
+	 */
+	public VectorEnv(Maze maze, int count, long maxTicks) {
+		_maze = maze;
+		_cells = maze.getCells();
+		_maxTicks = maxTicks;
+		_simulations = new Simulation[count];
+		_seeds = new long[count];
+		_seenDots = new BitBoard[count];
+		_seenEnergizers = new BitBoard[count];
+		_seenCells = new int[count * (Constants.NUM_GHOSTS + 1)];
+		_seenModes = new Mode[count];
+		SearchContext searchContext = new SearchContext(maze);
+		for (int i = 0; i < count; i++) {
+			_simulations[i] = new Simulation(maze, i, searchContext);
+			_seenDots[i] = new BitBoard(maze.getRows(), maze.getColumns());
+			_seenEnergizers[i] = new BitBoard(maze.getRows(), maze.getColumns());
+		}
+		_start = new SimulationState(_simulations[0]);
+	}
+
+	/**
+	 * Has observations written into the given direct ByteBuffer from now on, as
+	 * 0 or 1 and the mode's ordinal, starting at index 0, and writes every
+	 * game's observation into it in full.
+	 */
+	public void setObservations(ByteBuffer observations) {
+		this.checkCapacity(observations.isDirect(), observations.capacity());
+		_bytes = observations;
+		_floats = null;
+		for (int i = 0; i < _simulations.length; i++) {
+			this.observeAll(i);
+		}
+	}
+
+	/**
+	 * Has observations written into the given direct FloatBuffer from now on,
+	 * with the same values as floats.
+	 */
+	public void setObservations(FloatBuffer observations) {
+		this.checkCapacity(observations.isDirect(), observations.capacity());
+		_floats = observations;
+		_bytes = null;
+		for (int i = 0; i < _simulations.length; i++) {
+			this.observeAll(i);
+		}
+	}
+
+	/**
+	 * Checks that an observation buffer is direct and large enough for every
+	 * game.
+	 */
+	private void checkCapacity(boolean direct, int capacity) {
+		if (!direct) {
+			throw new IllegalArgumentException("Observations must be written into a direct buffer");
+		}
+		if (capacity < this.getObservationSize()) {
+			throw new IllegalArgumentException(
+					"Observations need " + this.getObservationSize() + " values: given " + capacity);
+		}
+	}
+
+	/**
+	 * Starts every game over, game i with seed seed + i, and writes every
+	 * observation in full.
+	 */
+	public void reset(long seed) {
+		for (int i = 0; i < _simulations.length; i++) {
+			this.reset(i, seed + i);
+		}
+	}
+
+	/**
+	 * Starts the ith game over with the given seed by restoring the state every
+	 * game starts in and reseeding its GameRandom, which allocates nothing.
+	 */
+	private void reset(int i, long seed) {
+		_seeds[i] = seed;
+		_simulations[i].restore(_start);
+		_simulations[i].getRandom().setState(seed);
+		if (_bytes != null || _floats != null) {
+			this.observeAll(i);
+		}
+	}
+
+	/**
+	 * Writes the ith game's observation in full: the walls and the pickups left
+	 * straight from their BitBoards, empty Ghost and Pacman planes, and then
+	 * everything else as a step would.
+	 */
+	private void observeAll(int i) {
+		Simulation simulation = _simulations[i];
+		int base = i * CHANNELS * _cells;
+		for (int cell = 0; cell < _cells; cell++) {
+			this.put(base + WALLS * _cells + cell, _maze.isWall(cell) ? 1 : 0);
+			this.put(base + DOTS * _cells + cell, simulation.getDots().get(cell) ? 1 : 0);
+			this.put(base + ENERGIZERS * _cells + cell, simulation.getEnergizers().get(cell) ? 1 : 0);
+			for (int channel = GHOSTS; channel <= PACMAN; channel++) {
+				this.put(base + channel * _cells + cell, 0);
+			}
+		}
+		_seenDots[i].copyFrom(simulation.getDots());
+		_seenEnergizers[i].copyFrom(simulation.getEnergizers());
+		for (int j = 0; j <= Constants.NUM_GHOSTS; j++) {
+			_seenCells[i * (Constants.NUM_GHOSTS + 1) + j] = 0; // Already 0 on the cleared planes
+		}
+		_seenModes[i] = null;
+		this.observe(i);
+	}
+
+	/**
+	 * Turns Pacman in every game according to its action and runs one step of
+	 * each. The points scored in game i are put in rewards[i], and dones[i] says
+	 * whether the game ended during the step, in which case it has already been
+	 * reset with the seed the batch has not used yet and its observation is of
+	 * the new game.
+	 */
+	public void step(int[] actions, float[] rewards, boolean[] dones) {
+		for (int i = 0; i < _simulations.length; i++) {
+			Simulation simulation = _simulations[i];
+			int points = simulation.getPoints();
+			if (actions[i] != NO_ACTION) {
+				simulation.setDirection(DIRECTIONS[actions[i]]);
+			}
+			for (int tick = 0; tick < Constants.PAC_TICKS && !simulation.isOver(); tick++) {
+				simulation.tick();
+			}
+			rewards[i] = simulation.getPoints() - points;
+			dones[i] = simulation.isOver() || simulation.getTick() >= _maxTicks;
+			if (dones[i]) {
+				this.reset(i, _seeds[i] + _simulations.length);
+			} else if (_bytes != null || _floats != null) {
+				this.observe(i);
+			}
+		}
+	}
+
+	/**
+	 * Brings the ith game's observation up to date, writing only what differs
+	 * from what was last written.
+	 */
+	private void observe(int i) {
+		Simulation simulation = _simulations[i];
+		int base = i * CHANNELS * _cells;
+		this.observePickups(simulation.getDots(), _seenDots[i], base + DOTS * _cells);
+		this.observePickups(simulation.getEnergizers(), _seenEnergizers[i], base + ENERGIZERS * _cells);
+		Ghost[] ghosts = simulation.getGhosts();
+		int seen = i * (Constants.NUM_GHOSTS + 1);
+		for (int j = 0; j < ghosts.length; j++) {
+			this.observeCell(ghosts[j].getCell(), seen + j, base + (GHOSTS + j) * _cells);
+		}
+		this.observeCell(simulation.getPacCell(), seen + Constants.NUM_GHOSTS, base + PACMAN * _cells);
+		if (simulation.getMode() != _seenModes[i]) {
+			_seenModes[i] = simulation.getMode();
+			for (int cell = 0; cell < _cells; cell++) {
+				this.put(base + MODE * _cells + cell, _seenModes[i].ordinal());
+			}
+		}
+	}
+
+	/**
+	 * Rewrites the cells of a pickup plane whose bits differ between the game's
+	 * BitBoard and the one last written, then remembers the game's.
+	 */
+	private void observePickups(BitBoard pickups, BitBoard seen, int plane) {
+		for (int word = 0; word < pickups.getWordCount(); word++) {
+			long changed = pickups.getWord(word) ^ seen.getWord(word);
+			while (changed != 0) {
+				int cell = (word << 6) + Long.numberOfTrailingZeros(changed);
+				this.put(plane + cell, pickups.get(cell) ? 1 : 0);
+				changed = changed & (changed - 1);
+			}
+		}
+		seen.copyFrom(pickups);
+	}
+
+	/**
+	 * Moves the single 1 of a Ghost's or Pacman's plane from the cell last
+	 * written to the given one.
+	 */
+	private void observeCell(int cell, int seen, int plane) {
+		this.put(plane + _seenCells[seen], 0);
+		this.put(plane + cell, 1);
+		_seenCells[seen] = cell;
+	}
+
+	/**
+	 * Writes one value into whichever observation buffer was given.
+	 */
+	private void put(int index, int value) {
+		if (_bytes != null) {
+			_bytes.put(index, (byte) value);
+		} else {
+			_floats.put(index, value);
+		}
+	}
+
+	/**
+	 * Returns the number of values the observations of every game take up.
+	 */
+	public int getObservationSize() {
+		return _simulations.length * CHANNELS * _cells;
+	}
+
+	/**
+	 * Returns the number of games.
+	 */
+	public int getCount() {
+		return _simulations.length;
+	}
+
+	/**
+	 * Returns the ith game, which must not be changed.
+	 */
+	public Simulation getSimulation(int i) {
+		return _simulations[i];
+	}
+}
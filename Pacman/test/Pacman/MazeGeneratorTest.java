@@ -0,0 +1,63 @@
+package Pacman;
+
+import java.util.Locale;
+
+/**
+ * Checks that generated mazes fill their boards, without any build tool or
+ * library. Many seeds are generated at each of several sizes, and every maze
+ * must keep a fixed share of its squares free, so the free squares grow with
+ * rows * columns; the mean over the seeds must grow from one size to the next
+ * too. A few sizes and seeds that once came out nearly empty, with the pen
+ * cutting its exit off from the rest of the maze, are checked as well. A
+ * failed check throws an AssertionError.
+ *
+ * Run with the compiled src and test folders on the classpath:
+ * java Pacman.MazeGeneratorTest
+ */
+public class MazeGeneratorTest {
+	private static final int[][] SIZES = { { 9, 12 }, { 31, 40 }, { 64, 64 }, { 101, 77 }, { 160, 160 },
+			{ 300, 300 } };
+	private static final int[][] ONCE_EMPTY = { { 300, 300, 3 }, { 304, 304, 2 }, { 500, 500, 1 },
+			{ 1000, 1000, 2 } };
+	private static final int SEEDS = 20;
+	private static final double MIN_FREE_SHARE = 0.3;
+
+	/**
+	 * Runs every check and prints the mean free squares of each size.
+	 */
+	public static void main(String[] argv) {
+		double lastMean = 0;
+		for (int[] size : SIZES) {
+			long total = 0;
+			for (int seed = 0; seed < SEEDS; seed++) {
+				total = total + MazeGeneratorTest.checkFree(size[0], size[1], seed);
+			}
+			double mean = (double) total / SEEDS;
+			if (mean <= lastMean) {
+				throw new AssertionError(String.format(Locale.ROOT,
+						"Mazes of %d by %d have %.1f free squares on average, no more than the smaller size's %.1f",
+						size[0], size[1], mean, lastMean));
+			}
+			lastMean = mean;
+			System.out.println(String.format(Locale.ROOT, "%d by %d: %.1f free squares", size[0], size[1], mean));
+		}
+		for (int[] level : ONCE_EMPTY) {
+			MazeGeneratorTest.checkFree(level[0], level[1], level[2]);
+		}
+		System.out.println("MazeGeneratorTest passed");
+	}
+
+	/**
+	 * Generates the maze and returns its number of free squares, throwing an
+	 * AssertionError if they are too few a share of the board.
+	 */
+	private static long checkFree(int rows, int columns, long seed) {
+		Maze maze = MazeGenerator.generate(rows, columns, seed);
+		long free = maze.getCells() - maze.getWalls().count();
+		if (free < MIN_FREE_SHARE * rows * columns) {
+			throw new AssertionError("The maze of " + rows + " by " + columns + " from seed " + seed + " has only " + free
+					+ " free squares");
+		}
+		return free;
+	}
+}